@@ -0,0 +1,281 @@
+package actions;
+
+import commons.ConfigManager;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import utils.ApiActionException;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * HTTP-based actions for test setup and teardown, used next to the UI actions.
+ * Builds preconditions such as "account exists" directly against the application's API,
+ * which takes milliseconds instead of seconds of browser clicks.
+ */
+public class AccountApiActions {
+    private static final Logger logger = LogManager.getLogger(AccountApiActions.class);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    // One client for all instances, so connections are pooled and kept alive across scenarios
+    private static final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    private final String apiUrl;
+    private final CookieManager cookieManager = new CookieManager();
+    private final Json json = new Json();
+    private final Map<String, String> createdAccounts = new ConcurrentHashMap<>();
+
+    public AccountApiActions() {
+        this(ConfigManager.getInstance().getApiUrl());
+    }
+
+    /**
+     * Creates API actions against an explicit base URL, e.g. a local stub server.
+     * @param apiUrl The API base URL.
+     */
+    public AccountApiActions(String apiUrl) {
+        this.apiUrl = apiUrl.endsWith("/") ? apiUrl.substring(0, apiUrl.length() - 1) : apiUrl;
+    }
+
+    /**
+     * Creates an account and remembers it for {@link #deleteCreatedAccounts()}.
+     * @param name The display name.
+     * @param email The account email.
+     * @param password The account password.
+     * @return A future completing with the API response.
+     */
+    public CompletableFuture<ApiResponse> createAccountAsync(String name, String email, String password) {
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("name", name);
+        form.put("email", email);
+        form.put("password", password);
+        form.put("title", "Mr");
+        form.put("birth_date", "1");
+        form.put("birth_month", "1");
+        form.put("birth_year", "1990");
+        form.put("firstname", name);
+        form.put("lastname", "Test");
+        form.put("company", "Test");
+        form.put("address1", "1 Test Street");
+        form.put("address2", "");
+        form.put("country", "United States");
+        form.put("zipcode", "10001");
+        form.put("state", "New York");
+        form.put("city", "New York");
+        form.put("mobile_number", "5550000000");
+        return sendAsync("POST", "/createAccount", form).thenApply(response -> {
+            if (response.getResponseCode() == 201) {
+                createdAccounts.put(email, password);
+            }
+            return response;
+        });
+    }
+
+    /**
+     * Creates an account and waits for the API to confirm it.
+     * @param name The display name.
+     * @param email The account email.
+     * @param password The account password.
+     * @throws ApiActionException if the API does not report the account as created.
+     */
+    public void createAccount(String name, String email, String password) {
+        ApiResponse response = await(createAccountAsync(name, email, password), "create account " + email);
+        if (response.getResponseCode() != 201) {
+            throw new ApiActionException("Failed to create account " + email + ": " + response);
+        }
+        logger.info("Created account {} via API", email);
+    }
+
+    /**
+     * Deletes an account.
+     * @param email The account email.
+     * @param password The account password.
+     * @return A future completing with the API response.
+     */
+    public CompletableFuture<ApiResponse> deleteAccountAsync(String email, String password) {
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("email", email);
+        form.put("password", password);
+        return sendAsync("DELETE", "/deleteAccount", form).thenApply(response -> {
+            // Accounts the API failed to delete stay tracked, so a later cleanup retries them
+            if (response.getResponseCode() == 200) {
+                createdAccounts.remove(email);
+            }
+            return response;
+        });
+    }
+
+    /**
+     * Deletes an account and waits for the result.
+     * @param email The account email.
+     * @param password The account password.
+     * @throws ApiActionException if the API does not report the account as deleted.
+     */
+    public void deleteAccount(String email, String password) {
+        ApiResponse response = await(deleteAccountAsync(email, password), "delete account " + email);
+        if (response.getResponseCode() != 200) {
+            throw new ApiActionException("Failed to delete account " + email + ": " + response);
+        }
+        logger.info("Deleted account {} via API", email);
+    }
+
+    /**
+     * Checks whether the credentials belong to an existing account.
+     * @param email The account email.
+     * @param password The account password.
+     * @return true if the API accepts the login.
+     */
+    public boolean verifyLogin(String email, String password) {
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("email", email);
+        form.put("password", password);
+        return await(sendAsync("POST", "/verifyLogin", form), "verify login " + email).getResponseCode() == 200;
+    }
+
+    /**
+     * Deletes every account created through this instance, in parallel.
+     * Failures are logged rather than thrown so teardown always completes.
+     */
+    public void deleteCreatedAccounts() {
+        Map<String, String> accounts = new LinkedHashMap<>(createdAccounts);
+        if (accounts.isEmpty()) {
+            return;
+        }
+        List<CompletableFuture<Boolean>> deletions = new ArrayList<>();
+        accounts.forEach((email, password) -> deletions.add(deleteAccountAsync(email, password)
+                .handle((response, e) -> {
+                    if (e != null) {
+                        logger.warn("Failed to delete account {} during cleanup: {}", email, e.getMessage());
+                        return false;
+                    }
+                    if (response.getResponseCode() != 200) {
+                        logger.warn("Failed to delete account {} during cleanup: {}", email, response);
+                        return false;
+                    }
+                    return true;
+                })));
+        CompletableFuture.allOf(deletions.toArray(new CompletableFuture<?>[0])).join();
+        long failed = deletions.stream().filter(deletion -> !deletion.join()).count();
+        if (failed > 0) {
+            logger.warn("Cleaned up {} of {} account(s) created via API; {} left on the server",
+                    accounts.size() - failed, accounts.size(), failed);
+        } else {
+            logger.info("Cleaned up {} account(s) created via API", accounts.size());
+        }
+    }
+
+    /**
+     * Sends a form-encoded request to the API, for seeding state without a dedicated helper.
+     * @param method The HTTP method.
+     * @param path The path relative to the API base URL, e.g. "/createAccount".
+     * @param form The form fields.
+     * @return A future completing with the parsed response.
+     */
+    public CompletableFuture<ApiResponse> sendAsync(String method, String path, Map<String, String> form) {
+        URI uri = URI.create(apiUrl + path);
+        String encoded = form.entrySet().stream()
+                .map(entry -> encode(entry.getKey()) + "=" + encode(entry.getValue()))
+                .collect(Collectors.joining("&"));
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .method(method, HttpRequest.BodyPublishers.ofString(encoded));
+        String cookieHeader = cookieHeader(uri);
+        if (!cookieHeader.isEmpty()) {
+            builder.header("Cookie", cookieHeader);
+        }
+
+        logger.debug("API {} {}", method, uri);
+        return httpClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    storeCookies(uri, response);
+                    return new ApiResponse(response.statusCode(), parseBody(response.body()));
+                });
+    }
+
+    /**
+     * Copies the cookies received from the API into the browser session.
+     * The browser must already be on a page of the application's domain.
+     * @param driver The browser session to update.
+     */
+    public void syncCookiesToBrowser(WebDriver driver) {
+        for (HttpCookie httpCookie : cookieManager.getCookieStore().getCookies()) {
+            Date expiry = httpCookie.getMaxAge() > 0
+                    ? new Date(System.currentTimeMillis() + httpCookie.getMaxAge() * 1000)
+                    : null;
+            driver.manage().addCookie(new Cookie.Builder(httpCookie.getName(), httpCookie.getValue())
+                    .domain(httpCookie.getDomain())
+                    .path(httpCookie.getPath())
+                    .expiresOn(expiry)
+                    .isSecure(httpCookie.getSecure())
+                    .isHttpOnly(httpCookie.isHttpOnly())
+                    .build());
+        }
+        logger.debug("Synced {} API cookie(s) to the browser", cookieManager.getCookieStore().getCookies().size());
+    }
+
+    private String cookieHeader(URI uri) {
+        try {
+            List<String> cookies = cookieManager.get(uri, Collections.emptyMap()).getOrDefault("Cookie", Collections.emptyList());
+            return String.join("; ", cookies);
+        } catch (IOException e) {
+            logger.warn("Failed to read API cookies for {}: {}", uri, e.getMessage());
+            return "";
+        }
+    }
+
+    private void storeCookies(URI uri, HttpResponse<String> response) {
+        try {
+            cookieManager.put(uri, response.headers().map());
+        } catch (IOException e) {
+            logger.warn("Failed to store API cookies from {}: {}", uri, e.getMessage());
+        }
+    }
+
+    private Map<String, Object> parseBody(String body) {
+        try {
+            return json.toType(body, Json.MAP_TYPE);
+        } catch (Exception e) {
+            // Some endpoints answer with HTML or plain text on errors
+            Map<String, Object> raw = new LinkedHashMap<>();
+            raw.put("message", body);
+            return raw;
+        }
+    }
+
+    private static ApiResponse await(CompletableFuture<ApiResponse> future, String description) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw new ApiActionException("API request failed: " + description, e.getCause());
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value == null ? "" : value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,48 @@
+package actions;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Parsed response from the application's API.
+ * The API reports its own status in the body ('responseCode'), separately from the HTTP status.
+ */
+public class ApiResponse {
+    private final int httpStatus;
+    private final Map<String, Object> body;
+
+    public ApiResponse(int httpStatus, Map<String, Object> body) {
+        this.httpStatus = httpStatus;
+        this.body = body == null ? Collections.emptyMap() : Collections.unmodifiableMap(body);
+    }
+
+    public int getHttpStatus() {
+        return httpStatus;
+    }
+
+    /**
+     * @return The API's own status code from the body, or the HTTP status if the body has none.
+     */
+    public int getResponseCode() {
+        Object code = body.get("responseCode");
+        return code instanceof Number ? ((Number) code).intValue() : httpStatus;
+    }
+
+    public String getMessage() {
+        Object message = body.get("message");
+        return message == null ? null : String.valueOf(message);
+    }
+
+    public Map<String, Object> getBody() {
+        return body;
+    }
+
+    @Override
+    public String toString() {
+        return "ApiResponse{" +
+                "httpStatus=" + httpStatus +
+                ", responseCode=" + getResponseCode() +
+                ", message='" + getMessage() + '\'' +
+                '}';
+    }
+}
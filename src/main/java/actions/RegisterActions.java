@@ -1,26 +1,63 @@
 package actions;
 
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.testng.Assert;
 import page.ecomqa.Register_Page.RegisterPage;
 import page.ecomqa.Register_Page.locators.RegisterPageLocators;
+import utils.SeleniumActionException;
 import utils.SeleniumUtils;
+import utils.SessionUnavailableException;
+import commons.BrowserStateCache;
 import commons.DriverManager;
 import commons.ConfigManager;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
 public class RegisterActions {
+    private static final Logger logger = LogManager.getLogger(RegisterActions.class);
     private final RemoteWebDriver driver;
     private final SeleniumUtils seleniumUtils;
     private final RegisterPage registerPage;
     private final String loginUrl;
+    private final String baseUrl;
 
     public RegisterActions() {
-        this.driver = DriverManager.getDriver();
+        this(DriverManager.getDriver());
+    }
+
+    /**
+     * Creates actions for an explicitly provided session, e.g. from a ScenarioContext.
+     * @param driver The session to drive.
+     */
+    public RegisterActions(RemoteWebDriver driver) {
+        this.driver = driver;
         this.seleniumUtils = new SeleniumUtils(driver);
         this.loginUrl = ConfigManager.getInstance().getLoginUrl();
+        this.baseUrl = ConfigManager.getInstance().getBaseUrl();
         this.registerPage = new RegisterPage(driver);
     }
 
+    /**
+     * Starts the scenario as the given user without repeating the UI flow when possible.
+     * A cached authenticated state is injected if one exists and still logs the user in; otherwise
+     * the UI flow runs and the resulting browser state is cached for later scenarios.
+     * @param userKey The key identifying the user, e.g. a username or email.
+     * @param uiFlow The UI steps that establish the user from scratch.
+     * @param isLoggedIn Checks the current page for a logged-in marker, e.g. a logout link.
+     */
+    public void establishUser(String userKey, Runnable uiFlow, Predicate<WebDriver> isLoggedIn) {
+        if (!BrowserStateCache.getInstance().restore(driver, userKey, isLoggedIn)) {
+            uiFlow.run();
+            BrowserStateCache.getInstance().capture(driver, userKey);
+        }
+    }
+
     public void navigateToLoginPage() {
         seleniumUtils.navigateTo(loginUrl);
     }
@@ -32,6 +69,37 @@ public class RegisterActions {
         Assert.assertTrue(registerPage.signupButtonElement(), "Signup button is not displayed");
     }
 
+    /**
+     * Verifies the login page at several URLs using tabs of the one session instead of one session per URL.
+     * All pages load concurrently; each is then checked in turn and its tab closed. Failures are collected
+     * so every URL is reported.
+     * @param urls The URLs expected to show the login page.
+     */
+    public void verifyLoginPages(List<String> urls) {
+        String origin = driver.getWindowHandle();
+        List<String> handles = seleniumUtils.openInTabs(urls);
+        List<String> failures = new ArrayList<>();
+        for (int i = 0; i < handles.size(); i++) {
+            try {
+                seleniumUtils.switchToLoadedWindow(handles.get(i));
+                verifyTheLoginPage();
+            } catch (AssertionError | SeleniumActionException e) {
+                if (e instanceof SessionUnavailableException) {
+                    throw (SessionUnavailableException) e;
+                }
+                failures.add(urls.get(i) + ": " + e.getMessage());
+            } finally {
+                try {
+                    seleniumUtils.closeWindow(handles.get(i), origin);
+                } catch (SeleniumActionException e) {
+                    // Must not hide the check's own failure
+                    logger.warn("Failed to close tab for {}: {}", urls.get(i), e.getMessage());
+                }
+            }
+        }
+        Assert.assertTrue(failures.isEmpty(), "Login page checks failed:\n" + String.join("\n", failures));
+    }
+
     public void inputUsername(String username) {
         seleniumUtils.clearAndSendKeys(RegisterPageLocators.USERNAME_INPUT, username);
     }
@@ -43,4 +111,36 @@ public class RegisterActions {
     public void clickSignupButton() {
         seleniumUtils.click(RegisterPageLocators.SIGNUP_BUTTON);
     }
+
+    public void loginWith(String email, String password) {
+        seleniumUtils.clearAndSendKeys(RegisterPageLocators.LOGIN_EMAIL_INPUT, email);
+        seleniumUtils.clearAndSendKeys(RegisterPageLocators.LOGIN_PASSWORD_INPUT, password);
+        seleniumUtils.click(RegisterPageLocators.LOGIN_BUTTON);
+    }
+
+    /**
+     * Logs the account in, reusing its cached browser state when that still authenticates.
+     * @param email The account email, also the cache key.
+     * @param password The account password, for the UI login.
+     */
+    public void loginAs(String email, String password) {
+        establishUser(email, () -> {
+            navigateToLoginPage();
+            loginWith(email, password);
+        }, browser -> isLoggedIn());
+    }
+
+    /**
+     * Opens the home page and checks its header for a logged-in user.
+     * @return true if a user is logged in.
+     */
+    public boolean isLoggedIn() {
+        seleniumUtils.navigateTo(baseUrl);
+        return registerPage.hasLoggedInUser();
+    }
+
+    public void verifyLoggedInAs(String username) {
+        Assert.assertTrue(registerPage.loggedInUsernameElement(), "No 'Logged in as' marker in the header");
+        Assert.assertEquals(registerPage.loggedInUsername(), username, "Logged in as the wrong user");
+    }
 }
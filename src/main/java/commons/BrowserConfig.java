@@ -8,10 +8,18 @@ import java.util.Objects;
  * Provides compile-time safety and better IDE support compared to raw maps.
  */
 public class BrowserConfig {
+    public static final String MODE_REMOTE = "remote";
+    public static final String MODE_LOCAL = "local";
+
     private String browserName;
     private String browserVersion;
     private String remoteUrl;
     private Map<String, Object> ltOptions;
+    private String executionMode = MODE_REMOTE;
+    private boolean headless = true;
+    private String binaryPath;
+    private String driverPath;
+    private int driverPoolSize = 2;
 
     // Default constructor for YAML deserialization
     public BrowserConfig() {}
@@ -40,6 +48,34 @@ public class BrowserConfig {
         return ltOptions;
     }
 
+    public String getExecutionMode() {
+        return executionMode;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public String getBinaryPath() {
+        return binaryPath;
+    }
+
+    public String getDriverPath() {
+        return driverPath;
+    }
+
+    public int getDriverPoolSize() {
+        return driverPoolSize;
+    }
+
+    /**
+     * Checks whether browsers are launched on this machine instead of a remote grid.
+     * @return true for local execution mode.
+     */
+    public boolean isLocal() {
+        return MODE_LOCAL.equalsIgnoreCase(executionMode);
+    }
+
     // Setters
     public void setBrowserName(String browserName) {
         this.browserName = browserName;
@@ -57,12 +93,46 @@ public class BrowserConfig {
         this.ltOptions = ltOptions;
     }
 
+    public void setExecutionMode(String executionMode) {
+        this.executionMode = executionMode;
+    }
+
+    public void setHeadless(boolean headless) {
+        this.headless = headless;
+    }
+
+    public void setBinaryPath(String binaryPath) {
+        this.binaryPath = binaryPath;
+    }
+
+    public void setDriverPath(String driverPath) {
+        this.driverPath = driverPath;
+    }
+
+    public void setDriverPoolSize(int driverPoolSize) {
+        this.driverPoolSize = driverPoolSize;
+    }
+
     /**
      * Validates that all required fields are present and not null.
+     * The grid settings are only required in remote execution mode.
      * @throws IllegalStateException if any required field is missing.
      */
     public void validate() {
         Objects.requireNonNull(browserName, "browserName must not be null");
+        Objects.requireNonNull(executionMode, "executionMode must not be null");
+        if (isLocal()) {
+            if (!"chrome".equalsIgnoreCase(browserName) && !"firefox".equalsIgnoreCase(browserName)) {
+                throw new IllegalStateException("Local execution supports browserName 'chrome' or 'firefox', not '" + browserName + "'");
+            }
+            if (driverPoolSize <= 0) {
+                throw new IllegalStateException("driverPoolSize must be positive");
+            }
+            return;
+        }
+        if (!MODE_REMOTE.equalsIgnoreCase(executionMode)) {
+            throw new IllegalStateException("executionMode must be '" + MODE_REMOTE + "' or '" + MODE_LOCAL + "'");
+        }
         Objects.requireNonNull(browserVersion, "browserVersion must not be null");
         Objects.requireNonNull(remoteUrl, "remoteUrl must not be null");
     }
@@ -74,6 +144,9 @@ public class BrowserConfig {
                 ", browserVersion='" + browserVersion + '\'' +
                 ", remoteUrl='" + remoteUrl + '\'' +
                 ", ltOptions=" + ltOptions +
+                ", executionMode='" + executionMode + '\'' +
+                ", headless=" + headless +
+                ", driverPoolSize=" + driverPoolSize +
                 '}';
     }
 } 
\ No newline at end of file
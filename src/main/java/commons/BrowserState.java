@@ -0,0 +1,112 @@
+package commons;
+
+import org.openqa.selenium.Cookie;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot of a browser's authenticated state for one origin:
+ * cookies plus the contents of localStorage and sessionStorage.
+ */
+public class BrowserState {
+    private final String origin;
+    private final List<Cookie> cookies;
+    private final Map<String, String> localStorage;
+    private final Map<String, String> sessionStorage;
+    private final long capturedAt;
+
+    public BrowserState(String origin, List<Cookie> cookies, Map<String, String> localStorage,
+                        Map<String, String> sessionStorage, long capturedAt) {
+        this.origin = origin;
+        this.cookies = Collections.unmodifiableList(new ArrayList<>(cookies));
+        this.localStorage = Collections.unmodifiableMap(new LinkedHashMap<>(localStorage));
+        this.sessionStorage = Collections.unmodifiableMap(new LinkedHashMap<>(sessionStorage));
+        this.capturedAt = capturedAt;
+    }
+
+    // Getters
+    public String getOrigin() {
+        return origin;
+    }
+
+    public List<Cookie> getCookies() {
+        return cookies;
+    }
+
+    public Map<String, String> getLocalStorage() {
+        return localStorage;
+    }
+
+    public Map<String, String> getSessionStorage() {
+        return sessionStorage;
+    }
+
+    public long getCapturedAt() {
+        return capturedAt;
+    }
+
+    /**
+     * Checks whether the snapshot is older than the given time to live.
+     * @param ttlMillis The time to live in milliseconds.
+     * @return true if the snapshot should no longer be used.
+     */
+    public boolean isExpired(long ttlMillis) {
+        return System.currentTimeMillis() - capturedAt > ttlMillis;
+    }
+
+    /**
+     * Converts the snapshot into plain maps and lists for JSON serialization.
+     * @return A JSON-friendly representation.
+     */
+    public Map<String, Object> toMap() {
+        List<Map<String, Object>> cookieMaps = new ArrayList<>();
+        for (Cookie cookie : cookies) {
+            Map<String, Object> cookieMap = new LinkedHashMap<>(cookie.toJson());
+            // Cookie.toJson() keeps expiry as a Date; store epoch seconds to keep the file portable
+            if (cookie.getExpiry() != null) {
+                cookieMap.put("expiry", cookie.getExpiry().getTime() / 1000);
+            }
+            cookieMaps.add(cookieMap);
+        }
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("origin", origin);
+        map.put("capturedAt", capturedAt);
+        map.put("cookies", cookieMaps);
+        map.put("localStorage", localStorage);
+        map.put("sessionStorage", sessionStorage);
+        return map;
+    }
+
+    /**
+     * Rebuilds a snapshot from the representation produced by {@link #toMap()}.
+     * @param map The deserialized JSON map.
+     * @return The BrowserState.
+     */
+    @SuppressWarnings("unchecked")
+    public static BrowserState fromMap(Map<String, Object> map) {
+        List<Cookie> cookies = new ArrayList<>();
+        for (Map<String, Object> cookieMap : (List<Map<String, Object>>) map.get("cookies")) {
+            Object expiry = cookieMap.get("expiry");
+            cookies.add(new Cookie.Builder((String) cookieMap.get("name"), (String) cookieMap.get("value"))
+                    .domain((String) cookieMap.get("domain"))
+                    .path((String) cookieMap.get("path"))
+                    .expiresOn(expiry instanceof Number ? new Date(((Number) expiry).longValue() * 1000) : null)
+                    .isSecure(Boolean.TRUE.equals(cookieMap.get("secure")))
+                    .isHttpOnly(Boolean.TRUE.equals(cookieMap.get("httpOnly")))
+                    .sameSite((String) cookieMap.get("sameSite"))
+                    .build());
+        }
+        return new BrowserState(
+                (String) map.get("origin"),
+                cookies,
+                (Map<String, String>) map.get("localStorage"),
+                (Map<String, String>) map.get("sessionStorage"),
+                ((Number) map.get("capturedAt")).longValue());
+    }
+}
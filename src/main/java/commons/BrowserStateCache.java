@@ -0,0 +1,196 @@
+package commons;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Caches authenticated browser state per user so scenarios can skip UI signup/login flows.
+ * Snapshots are kept in memory and on disk, and expire after the configured time to live.
+ */
+public class BrowserStateCache {
+    private static final Logger logger = LogManager.getLogger(BrowserStateCache.class);
+    private static final BrowserStateCache instance = new BrowserStateCache();
+
+    private static final String READ_STORAGE_SCRIPT =
+            "function copy(storage) { var out = {};" +
+            "  for (var i = 0; i < storage.length; i++) { var key = storage.key(i); out[key] = storage.getItem(key); }" +
+            "  return out; }" +
+            "return { origin: window.location.origin, local: copy(window.localStorage), session: copy(window.sessionStorage) };";
+    private static final String WRITE_STORAGE_SCRIPT =
+            "var local = arguments[0], session = arguments[1];" +
+            "for (var key in local) { window.localStorage.setItem(key, local[key]); }" +
+            "for (var key in session) { window.sessionStorage.setItem(key, session[key]); }";
+
+    private final Map<String, BrowserState> memoryCache = new ConcurrentHashMap<>();
+    private final Json json = new Json();
+
+    private BrowserStateCache() {}
+
+    /**
+     * Provides the process-wide cache instance.
+     * @return The shared BrowserStateCache.
+     */
+    public static BrowserStateCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Captures the current page's cookies and storage and, if the cache is enabled, stores them for the user.
+     * Call this once the user has been established, while on a page of the application.
+     * @param driver The session holding the authenticated state.
+     * @param userKey The key identifying the user, e.g. a username or email.
+     * @return The captured state.
+     */
+    @SuppressWarnings("unchecked")
+    public BrowserState capture(WebDriver driver, String userKey) {
+        Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+        BrowserState state = new BrowserState(
+                (String) storage.get("origin"),
+                new ArrayList<>(driver.manage().getCookies()),
+                (Map<String, String>) storage.get("local"),
+                (Map<String, String>) storage.get("session"),
+                System.currentTimeMillis());
+
+        if (config().isEnabled()) {
+            memoryCache.put(userKey, state);
+            writeToDisk(userKey, state);
+        }
+        logger.info("Captured browser state for '{}' ({} cookies)", userKey, state.getCookies().size());
+        return state;
+    }
+
+    /**
+     * Injects the user's cached state into the session, if a fresh snapshot exists, and checks that it
+     * still authenticates. The browser is pointed at a lightweight page on the snapshot's origin so cookies
+     * and storage can be set, then reloaded so the server sees them before the check runs.
+     * A snapshot the server no longer accepts, e.g. because the session expired within the TTL, is
+     * invalidated and its cookies are cleared again.
+     * @param driver The new or pooled session to restore into.
+     * @param userKey The key identifying the user.
+     * @param isAuthenticated Checks the reloaded page for a logged-in marker.
+     * @return true if state was restored and verified, false if the UI flow has to run.
+     */
+    public boolean restore(WebDriver driver, String userKey, Predicate<WebDriver> isAuthenticated) {
+        if (!config().isEnabled()) {
+            return false;
+        }
+        BrowserState state = lookup(userKey);
+        if (state == null) {
+            logger.debug("No cached browser state for '{}'", userKey);
+            return false;
+        }
+
+        driver.get(URI.create(state.getOrigin()).resolve(config().getBootstrapPath()).toString());
+        driver.manage().deleteAllCookies();
+        for (Cookie cookie : state.getCookies()) {
+            if (cookie.getExpiry() != null && cookie.getExpiry().getTime() < System.currentTimeMillis()) {
+                continue;
+            }
+            try {
+                driver.manage().addCookie(cookie);
+            } catch (Exception e) {
+                logger.warn("Could not restore cookie '{}' for '{}': {}", cookie.getName(), userKey, e.getMessage());
+            }
+        }
+        ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, state.getLocalStorage(), state.getSessionStorage());
+        driver.navigate().refresh();
+
+        boolean authenticated;
+        try {
+            authenticated = isAuthenticated.test(driver);
+        } catch (RuntimeException e) {
+            logger.debug("Authentication check for '{}' failed: {}", userKey, e.getMessage());
+            authenticated = false;
+        }
+        if (!authenticated) {
+            logger.info("Cached browser state for '{}' no longer authenticates, discarding it", userKey);
+            invalidate(userKey);
+            driver.manage().deleteAllCookies();
+            return false;
+        }
+        logger.info("Restored cached browser state for '{}'", userKey);
+        return true;
+    }
+
+    /**
+     * Drops the user's snapshot from memory and disk, e.g. when it no longer authenticates.
+     * @param userKey The key identifying the user.
+     */
+    public void invalidate(String userKey) {
+        memoryCache.remove(userKey);
+        try {
+            Files.deleteIfExists(cacheFile(userKey));
+        } catch (IOException e) {
+            logger.warn("Failed to delete cached browser state for '{}': {}", userKey, e.getMessage());
+        }
+    }
+
+    private BrowserState lookup(String userKey) {
+        long ttlMillis = TimeUnit.MINUTES.toMillis(config().getTtlMinutes());
+        BrowserState state = memoryCache.get(userKey);
+        if (state == null) {
+            state = readFromDisk(userKey);
+            if (state != null) {
+                memoryCache.put(userKey, state);
+            }
+        }
+        if (state != null && state.isExpired(ttlMillis)) {
+            logger.debug("Cached browser state for '{}' has expired", userKey);
+            invalidate(userKey);
+            return null;
+        }
+        return state;
+    }
+
+    private void writeToDisk(String userKey, BrowserState state) {
+        Path file = cacheFile(userKey);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, json.toJson(state.toMap()).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.warn("Failed to write cached browser state for '{}': {}", userKey, e.getMessage());
+        }
+    }
+
+    private BrowserState readFromDisk(String userKey) {
+        Path file = cacheFile(userKey);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            Map<String, Object> map = json.toType(content, Json.MAP_TYPE);
+            return BrowserState.fromMap(map);
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable cached browser state for '{}': {}", userKey, e.getMessage());
+            return null;
+        }
+    }
+
+    private Path cacheFile(String userKey) {
+        // Keys are usernames or emails, so keep the file name to a safe character set
+        String fileName = userKey.replaceAll("[^A-Za-z0-9._-]", "_") + ".json";
+        return Paths.get(config().getDirectory(), fileName);
+    }
+
+    private static StateCacheConfig config() {
+        return ConfigManager.getInstance().getStateCacheConfig();
+    }
+}
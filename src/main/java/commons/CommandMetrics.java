@@ -0,0 +1,128 @@
+package commons;
+
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Records the round-trip time of every WebDriver command sent over the wire.
+ * Network time is estimated from the fastest round trip of a lightweight /status probe;
+ * whatever a command takes beyond that baseline is attributed to grid processing.
+ */
+public class CommandMetrics implements Filter {
+    private static final Logger logger = LogManager.getLogger(CommandMetrics.class);
+    private static final CommandMetrics instance = new CommandMetrics();
+    private static final int PROBE_ATTEMPTS = 3;
+    // Session, element and shadow-root ids are collapsed so commands aggregate by endpoint
+    private static final Pattern ID_SEGMENT = Pattern.compile("(/(?:session|element|shadow|cookie)/)[^/]+");
+
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private final AtomicLong networkBaselineNanos = new AtomicLong(-1);
+
+    private CommandMetrics() {}
+
+    /**
+     * Provides the process-wide metrics instance.
+     * @return The shared CommandMetrics.
+     */
+    public static CommandMetrics getInstance() {
+        return instance;
+    }
+
+    @Override
+    public HttpHandler apply(HttpHandler next) {
+        return request -> {
+            long start = System.nanoTime();
+            try {
+                return next.execute(request);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                String command = commandKey(request);
+                stats.computeIfAbsent(command, key -> new Stats()).record(elapsed);
+                logger.debug("{} took {} ms", command, TimeUnit.NANOSECONDS.toMillis(elapsed));
+            }
+        };
+    }
+
+    /**
+     * Measures the network round trip to the grid using its /status endpoint.
+     * The fastest of a few attempts is kept, as /status does no session work on the grid.
+     * @param client The client to probe with; requests are resolved against its base URL.
+     */
+    public void probeNetworkLatency(HttpClient client) {
+        long fastest = Long.MAX_VALUE;
+        for (int attempt = 0; attempt < PROBE_ATTEMPTS; attempt++) {
+            long start = System.nanoTime();
+            try {
+                client.execute(new HttpRequest(HttpMethod.GET, "/status"));
+                fastest = Math.min(fastest, System.nanoTime() - start);
+            } catch (Exception e) {
+                logger.debug("Network probe failed: {}", e.getMessage());
+            }
+        }
+        if (fastest != Long.MAX_VALUE) {
+            networkBaselineNanos.set(fastest);
+            logger.info("Estimated network round trip to grid: {} ms", TimeUnit.NANOSECONDS.toMillis(fastest));
+        } else {
+            logger.warn("Network probe failed, grid processing time will not be separated");
+        }
+    }
+
+    /**
+     * Logs per-command latency, split into network and grid processing time.
+     */
+    public void logReport() {
+        if (stats.isEmpty()) {
+            logger.debug("No WebDriver commands recorded");
+            return;
+        }
+        long baseline = Math.max(networkBaselineNanos.get(), 0);
+        logger.info("WebDriver command metrics (network baseline {} ms):", TimeUnit.NANOSECONDS.toMillis(baseline));
+        new TreeMap<>(stats).forEach((command, stat) -> {
+            long count = stat.count.get();
+            long avgMillis = TimeUnit.NANOSECONDS.toMillis(stat.totalNanos.get() / count);
+            long networkMillis = TimeUnit.NANOSECONDS.toMillis(Math.min(baseline, stat.totalNanos.get() / count));
+            logger.info("  {} count={} avg={}ms max={}ms network={}ms grid={}ms",
+                    command, count, avgMillis, TimeUnit.NANOSECONDS.toMillis(stat.maxNanos.get()),
+                    networkMillis, avgMillis - networkMillis);
+        });
+    }
+
+    /**
+     * Clears all recorded samples.
+     */
+    public void reset() {
+        stats.clear();
+    }
+
+    private static String commandKey(HttpRequest request) {
+        return request.getMethod() + " " + ID_SEGMENT.matcher(request.getUri()).replaceAll("$1{id}");
+    }
+
+    /**
+     * Lock-free accumulator for a single command endpoint.
+     */
+    private static class Stats {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos) {
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+}
@@ -9,7 +9,15 @@ public class Commons {
     private final SeleniumUtils seleniumUtils;
 
     public Commons() {
-        this.driver = DriverManager.getDriver();
+        this(DriverManager.getDriver());
+    }
+
+    /**
+     * Creates helpers for an explicitly provided session, e.g. from a ScenarioContext.
+     * @param driver The session to drive.
+     */
+    public Commons(RemoteWebDriver driver) {
+        this.driver = driver;
         this.seleniumUtils = new SeleniumUtils(driver);
     }
 
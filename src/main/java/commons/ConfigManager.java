@@ -19,6 +19,9 @@ public class ConfigManager {
     private static ConfigManager instance;
     private final Map<String, Object> config;
     private BrowserConfig browserConfig;
+    private TransportConfig transportConfig;
+    private SessionConfig sessionConfig;
+    private StateCacheConfig stateCacheConfig;
 
     /**
      * Private constructor to ensure a single instance.
@@ -28,6 +31,9 @@ public class ConfigManager {
         this.config = loadYamlConfig();
         Objects.requireNonNull(config, "Failed to load configuration from " + CONFIG_PATH);
         this.browserConfig = loadBrowserConfig();
+        this.transportConfig = loadTransportConfig();
+        this.sessionConfig = loadSessionConfig();
+        this.stateCacheConfig = loadStateCacheConfig();
     }
 
     /**
@@ -75,6 +81,15 @@ public class ConfigManager {
         browserConfig.setBrowserVersion((String) browserMap.get("browserVersion"));
         browserConfig.setRemoteUrl((String) browserMap.get("remoteUrl"));
         browserConfig.setLtOptions(getMapSafely(browserMap, "LT_Options"));
+        // -DexecutionMode=local switches to local browsers without editing the YAML
+        String executionMode = System.getProperty("executionMode", (String) browserMap.get("executionMode"));
+        if (executionMode != null) {
+            browserConfig.setExecutionMode(executionMode);
+        }
+        browserConfig.setHeadless(getBoolean(browserMap, "headless", browserConfig.isHeadless()));
+        browserConfig.setBinaryPath((String) browserMap.get("binaryPath"));
+        browserConfig.setDriverPath((String) browserMap.get("driverPath"));
+        browserConfig.setDriverPoolSize(getInt(browserMap, "driverPoolSize", browserConfig.getDriverPoolSize()));
 
         // Validate the configuration
         browserConfig.validate();
@@ -90,6 +105,105 @@ public class ConfigManager {
         return browserConfig;
     }
 
+    /**
+     * Loads the optional 'transport' section, falling back to defaults for missing keys.
+     * @return A validated TransportConfig instance.
+     */
+    private TransportConfig loadTransportConfig() {
+        TransportConfig transportConfig = new TransportConfig();
+        Object section = config.get("transport");
+        if (section instanceof Map) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> transportMap = (Map<String, Object>) section;
+            transportConfig.setConnectTimeoutSeconds(getInt(transportMap, "connectTimeoutSeconds", transportConfig.getConnectTimeoutSeconds()));
+            transportConfig.setReadTimeoutSeconds(getInt(transportMap, "readTimeoutSeconds", transportConfig.getReadTimeoutSeconds()));
+            transportConfig.setCompressRequests(getBoolean(transportMap, "compressRequests", transportConfig.isCompressRequests()));
+            transportConfig.setCompressionThresholdBytes(getInt(transportMap, "compressionThresholdBytes", transportConfig.getCompressionThresholdBytes()));
+            transportConfig.setMetricsEnabled(getBoolean(transportMap, "metricsEnabled", transportConfig.isMetricsEnabled()));
+        } else {
+            logger.debug("No 'transport' section found, using default transport settings");
+        }
+
+        transportConfig.validate();
+        logger.debug("Transport configuration loaded successfully: {}", transportConfig);
+        return transportConfig;
+    }
+
+    /**
+     * Retrieves the HTTP transport configuration.
+     * @return The TransportConfig instance.
+     */
+    public TransportConfig getTransportConfig() {
+        return transportConfig;
+    }
+
+    /**
+     * Loads the optional 'session' section, falling back to defaults for missing keys.
+     * @return A validated SessionConfig instance.
+     */
+    private SessionConfig loadSessionConfig() {
+        SessionConfig sessionConfig = new SessionConfig();
+        Object section = config.get("session");
+        if (section instanceof Map) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> sessionMap = (Map<String, Object>) section;
+            sessionConfig.setIdleTimeoutSeconds(getInt(sessionMap, "idleTimeoutSeconds", sessionConfig.getIdleTimeoutSeconds()));
+            sessionConfig.setReaperIntervalSeconds(getInt(sessionMap, "reaperIntervalSeconds", sessionConfig.getReaperIntervalSeconds()));
+            sessionConfig.setShutdownTimeoutSeconds(getInt(sessionMap, "shutdownTimeoutSeconds", sessionConfig.getShutdownTimeoutSeconds()));
+            sessionConfig.setReprovisionOnFailure(getBoolean(sessionMap, "reprovisionOnFailure", sessionConfig.isReprovisionOnFailure()));
+            sessionConfig.setWarmSessions(getInt(sessionMap, "warmSessions", sessionConfig.getWarmSessions()));
+        } else {
+            logger.debug("No 'session' section found, using default session settings");
+        }
+
+        sessionConfig.validate();
+        logger.debug("Session configuration loaded successfully: {}", sessionConfig);
+        return sessionConfig;
+    }
+
+    /**
+     * Retrieves the session lifecycle configuration.
+     * @return The SessionConfig instance.
+     */
+    public SessionConfig getSessionConfig() {
+        return sessionConfig;
+    }
+
+    /**
+     * Loads the optional 'stateCache' section, falling back to defaults for missing keys.
+     * @return A validated StateCacheConfig instance.
+     */
+    private StateCacheConfig loadStateCacheConfig() {
+        StateCacheConfig stateCacheConfig = new StateCacheConfig();
+        Object section = config.get("stateCache");
+        if (section instanceof Map) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> cacheMap = (Map<String, Object>) section;
+            stateCacheConfig.setEnabled(getBoolean(cacheMap, "enabled", stateCacheConfig.isEnabled()));
+            stateCacheConfig.setTtlMinutes(getInt(cacheMap, "ttlMinutes", stateCacheConfig.getTtlMinutes()));
+            if (cacheMap.get("directory") instanceof String) {
+                stateCacheConfig.setDirectory((String) cacheMap.get("directory"));
+            }
+            if (cacheMap.get("bootstrapPath") instanceof String) {
+                stateCacheConfig.setBootstrapPath((String) cacheMap.get("bootstrapPath"));
+            }
+        } else {
+            logger.debug("No 'stateCache' section found, using default state cache settings");
+        }
+
+        stateCacheConfig.validate();
+        logger.debug("State cache configuration loaded successfully: {}", stateCacheConfig);
+        return stateCacheConfig;
+    }
+
+    /**
+     * Retrieves the browser-state cache configuration.
+     * @return The StateCacheConfig instance.
+     */
+    public StateCacheConfig getStateCacheConfig() {
+        return stateCacheConfig;
+    }
+
     /**
      * Retrieves the base URL from the 'env' section of the configuration.
      * @return The base URL as a string.
@@ -120,6 +234,23 @@ public class ConfigManager {
         return loginPath;
     }
 
+    /**
+     * Retrieves the base URL of the application's HTTP API.
+     * Like LOGIN_URL, a relative API_URL is resolved against BASE_URL; it defaults to BASE_URL + "/api".
+     * @return The absolute API base URL.
+     */
+    public String getApiUrl() {
+        String baseUrl = getBaseUrl();
+        String apiPath = (String) getEnvConfig().get("API_URL");
+        if (apiPath == null) {
+            return baseUrl + "/api";
+        }
+        if (apiPath.startsWith("/")) {
+            return baseUrl + apiPath;
+        }
+        return apiPath;
+    }
+
     /**
      * Private helper to safely retrieve the 'env' configuration map.
      * @return The 'env' configuration map.
@@ -217,4 +348,40 @@ public class ConfigManager {
         logger.warn("Configuration key '{}' is not a map", key);
         return null;
     }
+
+    /**
+     * Helper method to read an integer value with a default.
+     * @param config The configuration map to read from.
+     * @param key The key to read.
+     * @param defaultValue The value to use when the key is missing.
+     * @return The configured integer, or the default.
+     */
+    private int getInt(Map<String, Object> config, String key, int defaultValue) {
+        Object value = config.get(key);
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        if (value != null) {
+            logger.warn("Configuration key '{}' is not a number, using default {}", key, defaultValue);
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Helper method to read a boolean value with a default.
+     * @param config The configuration map to read from.
+     * @param key The key to read.
+     * @param defaultValue The value to use when the key is missing.
+     * @return The configured boolean, or the default.
+     */
+    private boolean getBoolean(Map<String, Object> config, String key, boolean defaultValue) {
+        Object value = config.get(key);
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value != null) {
+            logger.warn("Configuration key '{}' is not a boolean, using default {}", key, defaultValue);
+        }
+        return defaultValue;
+    }
 }
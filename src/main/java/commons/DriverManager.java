@@ -1,13 +1,34 @@
 package commons;
 
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.remote.DesiredCapabilities;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.service.DriverService;
 
+import java.net.URI;
 import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import utils.SessionUnavailableException;
 
 /**
  * Manages the lifecycle of RemoteWebDriver instances using a thread-safe approach.
@@ -17,6 +38,14 @@ public class DriverManager {
     private static final Logger logger = LogManager.getLogger(DriverManager.class);
     // ThreadLocal provides thread-safe variables. Each thread will have its own RemoteWebDriver instance.
     private static final ThreadLocal<RemoteWebDriver> driverThread = new ThreadLocal<>();
+    // The network baseline only needs to be measured once per run
+    private static final AtomicBoolean networkProbed = new AtomicBoolean(false);
+    // Sessions whose circuit breaker tripped; replaced the next time their thread asks for a driver
+    private static final Set<RemoteWebDriver> evictedDrivers = ConcurrentHashMap.newKeySet();
+    // Set when a session dies and reprovisioning is disabled
+    private static final AtomicReference<Throwable> provisioningHalted = new AtomicReference<>();
+    // Warm pool size requested by the running harness, applied on top of session.warmSessions
+    private static final AtomicInteger minimumWarmSessions = new AtomicInteger();
 
     static {
         // Register shutdown hook for cleanup
@@ -29,15 +58,79 @@ public class DriverManager {
      * @return The RemoteWebDriver instance for the current thread.
      */
     public static RemoteWebDriver getDriver() {
+        RemoteWebDriver current = driverThread.get();
+        if (current != null && evictedDrivers.remove(current)) {
+            logger.warn("Evicting dead WebDriver session for thread: {}", threadName());
+            SessionRegistry.getInstance().quit(current);
+            driverThread.remove();
+        } else if (current != null && !SessionRegistry.getInstance().isActive(current)) {
+            logger.warn("WebDriver session for thread {} was reaped, creating a new one", threadName());
+            driverThread.remove();
+        }
         if (driverThread.get() == null) {
-            logger.info("Initializing new WebDriver instance for thread: {}", threadName());
-            driverThread.set(initializeDriver());
+            driverThread.set(openSession());
         } else {
             logger.debug("Returning existing WebDriver instance for thread: {}", threadName());
         }
         return driverThread.get();
     }
 
+    /**
+     * Opens a session that is not bound to the calling thread, for callers that carry the driver
+     * explicitly (see {@link ScenarioContext}). A parked warm session is reused when available.
+     * The caller must hand it back with {@link #closeSession(RemoteWebDriver)}.
+     * @return A live RemoteWebDriver.
+     * @throws SessionUnavailableException if provisioning was halted by a fatal session failure.
+     */
+    public static RemoteWebDriver openSession() {
+        Throwable halted = provisioningHalted.get();
+        if (halted != null) {
+            throw new SessionUnavailableException("Not creating new sessions after a fatal session failure", halted);
+        }
+        RemoteWebDriver warm = SessionRegistry.getInstance().claimParked();
+        if (warm != null) {
+            logger.info("Reusing warm WebDriver session for thread: {}", threadName());
+            return warm;
+        }
+        logger.info("Initializing new WebDriver instance for thread: {}", threadName());
+        return initializeDriver();
+    }
+
+    /**
+     * Releases a session obtained from {@link #openSession()}: it is parked for reuse when warm
+     * sessions are enabled and it is healthy, and quit otherwise.
+     * @param driver The session to release.
+     */
+    public static void closeSession(RemoteWebDriver driver) {
+        try {
+            if (!evictedDrivers.contains(driver) && parkForReuse(driver)) {
+                logger.info("Parked WebDriver session for reuse from thread: {}", threadName());
+            } else {
+                logger.info("Quitting WebDriver instance for thread: {}", threadName());
+                SessionRegistry.getInstance().quit(driver);
+            }
+        } finally {
+            evictedDrivers.remove(driver);
+        }
+    }
+
+    /**
+     * Keeps at least the given number of released sessions parked for reuse, whatever
+     * session.warmSessions is configured to. The loaded configuration itself is not changed.
+     * @param count The minimum warm pool size for the rest of the run.
+     */
+    public static void requireWarmSessions(int count) {
+        minimumWarmSessions.accumulateAndGet(count, Math::max);
+    }
+
+    /**
+     * Returns how many released sessions are kept parked for reuse.
+     * @return The larger of session.warmSessions and any harness requirement.
+     */
+    public static int getWarmSessions() {
+        return Math.max(ConfigManager.getInstance().getSessionConfig().getWarmSessions(), minimumWarmSessions.get());
+    }
+
     /**
      * Initializes a new RemoteWebDriver instance based on the configuration.
      * @return A new instance of RemoteWebDriver.
@@ -48,12 +141,10 @@ public class DriverManager {
             logger.debug("Fetching browser configuration...");
             ConfigManager configManager = ConfigManager.getInstance();
             BrowserConfig browserConfig = configManager.getBrowserConfig();
-            
-            logger.debug("Creating DesiredCapabilities from browser config...");
-            DesiredCapabilities capabilities = getCapabilities(browserConfig);
-            
-            logger.debug("Initializing RemoteWebDriver with URL: {}", browserConfig.getRemoteUrl());
-            RemoteWebDriver driver = new RemoteWebDriver(new URL(browserConfig.getRemoteUrl()), capabilities);
+
+            RemoteWebDriver driver = browserConfig.isLocal()
+                    ? initializeLocalDriver(browserConfig, configManager.getTransportConfig())
+                    : initializeRemoteDriver(browserConfig, configManager.getTransportConfig());
             logger.info("WebDriver initialized successfully for thread: {}", threadName());
             return driver;
         } catch (Exception e) {
@@ -62,6 +153,97 @@ public class DriverManager {
         }
     }
 
+    /**
+     * Creates a session on the remote grid.
+     * @param browserConfig The browser configuration object.
+     * @param transportConfig The HTTP transport configuration.
+     * @return A new RemoteWebDriver connected to the grid.
+     * @throws Exception if the grid URL is invalid or the session cannot be created.
+     */
+    private static RemoteWebDriver initializeRemoteDriver(BrowserConfig browserConfig, TransportConfig transportConfig) throws Exception {
+        logger.debug("Creating DesiredCapabilities from browser config...");
+        DesiredCapabilities capabilities = getCapabilities(browserConfig);
+
+        logger.debug("Initializing RemoteWebDriver with URL: {}", browserConfig.getRemoteUrl());
+        ClientConfig clientConfig = getClientConfig(new URL(browserConfig.getRemoteUrl()), transportConfig);
+        HttpCommandExecutor executor = new HttpCommandExecutor(
+                Collections.emptyMap(), clientConfig, PooledHttpClientFactory.getInstance());
+        RemoteWebDriver driver = new RemoteWebDriver(executor, capabilities);
+        SessionRegistry.getInstance().register(driver);
+        watchForFatalFailure(driver);
+        return driver;
+    }
+
+    /**
+     * Creates a session on a locally running browser through a pooled driver service.
+     * The service is handed back to the pool when the session is quit.
+     * @param browserConfig The browser configuration object.
+     * @param transportConfig The HTTP transport configuration.
+     * @return A new RemoteWebDriver connected to the local driver service.
+     */
+    private static RemoteWebDriver initializeLocalDriver(BrowserConfig browserConfig, TransportConfig transportConfig) {
+        LocalDriverServicePool pool = LocalDriverServicePool.getInstance();
+        DriverService service = pool.acquire(browserConfig);
+        try {
+            logger.debug("Initializing local {} session via {}", browserConfig.getBrowserName(), service.getUrl());
+            ClientConfig clientConfig = getClientConfig(service.getUrl(), transportConfig);
+            HttpCommandExecutor executor = new HttpCommandExecutor(
+                    Collections.emptyMap(), clientConfig, PooledHttpClientFactory.getInstance());
+            RemoteWebDriver driver = new RemoteWebDriver(executor, getLocalCapabilities(browserConfig));
+            SessionRegistry.getInstance().register(driver, () -> pool.release(service));
+            watchForFatalFailure(driver);
+            return driver;
+        } catch (RuntimeException e) {
+            pool.release(service);
+            throw e;
+        }
+    }
+
+    /**
+     * Marks the session for eviction as soon as its circuit breaker trips.
+     * With reprovisioning disabled, a fatal failure also stops any new sessions from being created.
+     * @param driver The newly registered session.
+     */
+    private static void watchForFatalFailure(RemoteWebDriver driver) {
+        SessionRegistry.getInstance().breakerFor(driver).onTrip(cause -> {
+            evictedDrivers.add(driver);
+            if (!ConfigManager.getInstance().getSessionConfig().isReprovisionOnFailure()) {
+                provisioningHalted.compareAndSet(null, cause);
+            }
+        });
+    }
+
+    /**
+     * Builds the HTTP client configuration shared by every session against the given endpoint.
+     * @param remoteUrl The grid or local driver service endpoint.
+     * @param transportConfig The configured timeouts, compression and metrics settings.
+     * @return A ClientConfig with the transport filters applied.
+     */
+    private static ClientConfig getClientConfig(URL remoteUrl, TransportConfig transportConfig) {
+        ClientConfig clientConfig = ClientConfig.defaultConfig()
+                .baseUrl(remoteUrl)
+                .connectionTimeout(Duration.ofSeconds(transportConfig.getConnectTimeoutSeconds()))
+                .readTimeout(Duration.ofSeconds(transportConfig.getReadTimeoutSeconds()))
+                .withFilter(SessionRegistry.getInstance().activityFilter());
+
+        if (transportConfig.isCompressRequests()) {
+            clientConfig = clientConfig.withFilter(new RequestCompressionFilter(transportConfig.getCompressionThresholdBytes()));
+            logger.debug("Request compression enabled above {} bytes", transportConfig.getCompressionThresholdBytes());
+        }
+
+        if (transportConfig.isMetricsEnabled()) {
+            // Probe with a separate client built before the metrics filter is added, so the /status calls
+            // stay out of the command report; the shared pooled client keeps the filters of its first config
+            if (networkProbed.compareAndSet(false, true)) {
+                try (HttpClient probeClient = HttpClient.Factory.createDefault().createClient(clientConfig)) {
+                    CommandMetrics.getInstance().probeNetworkLatency(probeClient);
+                }
+            }
+            clientConfig = clientConfig.withFilter(CommandMetrics.getInstance());
+        }
+        return clientConfig;
+    }
+
     /**
      * Creates DesiredCapabilities from the strongly-typed BrowserConfig.
      * @param browserConfig The browser configuration object.
@@ -86,27 +268,134 @@ public class DriverManager {
         return capabilities;
     }
 
+    /**
+     * Creates headless-friendly browser options for local execution.
+     * The drivers start every session with a fresh temporary profile; these flags keep
+     * that profile lean by turning off extensions, GPU compositing and first-run work.
+     * @param browserConfig The browser configuration object.
+     * @return Chrome or Firefox options.
+     */
+    private static Capabilities getLocalCapabilities(BrowserConfig browserConfig) {
+        if (LocalDriverServicePool.isFirefox(browserConfig)) {
+            FirefoxOptions options = new FirefoxOptions();
+            if (browserConfig.isHeadless()) {
+                options.addArguments("-headless");
+            }
+            options.addPreference("extensions.update.enabled", false);
+            options.addPreference("app.update.auto", false);
+            options.addPreference("browser.shell.checkDefaultBrowser", false);
+            options.addPreference("datareporting.policy.dataSubmissionEnabled", false);
+            options.addPreference("layers.acceleration.disabled", true);
+            if (browserConfig.getBinaryPath() != null) {
+                options.setBinary(browserConfig.getBinaryPath());
+            }
+            return options;
+        }
+
+        ChromeOptions options = new ChromeOptions();
+        if (browserConfig.isHeadless()) {
+            options.addArguments("--headless=new");
+        }
+        options.addArguments("--disable-gpu", "--disable-extensions", "--disable-dev-shm-usage",
+                "--no-first-run", "--no-default-browser-check", "--disable-background-networking");
+        if (browserConfig.getBinaryPath() != null) {
+            options.setBinary(browserConfig.getBinaryPath());
+        }
+        return options;
+    }
+
     /**
      * Quits the WebDriver instance for the current thread and removes it from the ThreadLocal map.
+     * When warm sessions are enabled, a healthy session is reset and parked for the next scenario instead.
      */
     public static void quitDriver() {
         RemoteWebDriver driver = driverThread.get();
         if (driver != null) {
-            logger.info("Quitting WebDriver instance for thread: {}", threadName());
-            driver.quit();
-            driverThread.remove();
+            try {
+                closeSession(driver);
+            } finally {
+                driverThread.remove();
+            }
         } else {
             logger.debug("No WebDriver instance found for thread: {}", threadName());
         }
     }
 
+    /**
+     * Resets a session and parks it, if the warm pool has room.
+     * Extra windows are closed, and cookies and local/session storage are cleared for the current page's
+     * origin and for the application's configured origins (BASE_URL, API_URL), each visited through the
+     * state cache's lightweight bootstrap page. Remote sessions offer no browser-wide clear without
+     * DevTools, so state left on any other domain (e.g. a third-party login provider) carries over;
+     * scenarios that depend on such state being absent should run with session.warmSessions set to 0.
+     * @param driver The session being released by the current thread.
+     * @return true if the session was parked, false if it should be quit.
+     */
+    private static boolean parkForReuse(RemoteWebDriver driver) {
+        SessionRegistry registry = SessionRegistry.getInstance();
+        if (registry.parkedCount() >= getWarmSessions() || !registry.isActive(driver)) {
+            return false;
+        }
+        try {
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            for (String handle : handles.subList(1, handles.size())) {
+                driver.switchTo().window(handle).close();
+            }
+            driver.switchTo().window(handles.get(0));
+            // Cookies and storage are only reachable from a page on their own origin
+            Set<String> cleared = new HashSet<>();
+            cleared.add(clearBrowserState(driver));
+            String bootstrapPath = ConfigManager.getInstance().getStateCacheConfig().getBootstrapPath();
+            for (String origin : applicationOrigins()) {
+                if (cleared.add(origin)) {
+                    driver.get(origin + bootstrapPath);
+                    clearBrowserState(driver);
+                }
+            }
+            driver.get("about:blank");
+        } catch (Exception e) {
+            logger.debug("Could not reset session for reuse: {}", e.getMessage());
+            return false;
+        }
+        return registry.park(driver);
+    }
+
+    /**
+     * Clears cookies and local/session storage for the page the session is on.
+     * @return The page's origin.
+     */
+    private static String clearBrowserState(RemoteWebDriver driver) {
+        Object origin = driver.executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}"
+                        + "return window.location.origin;");
+        driver.manage().deleteAllCookies();
+        return String.valueOf(origin);
+    }
+
+    private static Set<String> applicationOrigins() {
+        ConfigManager configManager = ConfigManager.getInstance();
+        Set<String> origins = new LinkedHashSet<>();
+        for (String url : Arrays.asList(configManager.getBaseUrl(), configManager.getApiUrl())) {
+            URI uri = URI.create(url);
+            if (uri.getScheme() != null && uri.getAuthority() != null) {
+                origins.add(uri.getScheme() + "://" + uri.getAuthority());
+            }
+        }
+        return origins;
+    }
+
     /**
      * Shutdown method for cleanup. Can be called explicitly or via shutdown hook.
-     * Ensures all drivers are properly closed.
+     * Quits every live session, regardless of which thread created it, and reports leaks.
      */
     public static void shutdown() {
         logger.info("Shutting down DriverManager...");
         quitDriver();
+        SessionConfig sessionConfig = ConfigManager.getInstance().getSessionConfig();
+        SessionRegistry.getInstance().shutdown(Duration.ofSeconds(sessionConfig.getShutdownTimeoutSeconds()));
+        LocalDriverServicePool.getInstance().shutdown();
+        CommandMetrics.getInstance().logReport();
+        PooledHttpClientFactory.getInstance().closeAll();
         logger.info("DriverManager shutdown complete");
     }
 
@@ -0,0 +1,181 @@
+package commons;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.service.DriverService;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Pool of pre-started local driver service processes (chromedriver / geckodriver).
+ * Sessions connect to an idle service over HTTP, so quitting a session leaves the
+ * driver process running and ready for the next one.
+ */
+public class LocalDriverServicePool {
+    private static final Logger logger = LogManager.getLogger(LocalDriverServicePool.class);
+    private static final LocalDriverServicePool instance = new LocalDriverServicePool();
+
+    private final BlockingQueue<DriverService> idleServices = new LinkedBlockingQueue<>();
+    private final List<DriverService> allServices = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean warmedUp = new AtomicBoolean(false);
+    // A lock rather than synchronized, so virtual threads waiting on the driver download do not pin their carrier
+    private final ReentrantLock resolveLock = new ReentrantLock();
+    private volatile File driverExecutable;
+
+    private LocalDriverServicePool() {}
+
+    /**
+     * Provides the process-wide pool instance.
+     * @return The shared LocalDriverServicePool.
+     */
+    public static LocalDriverServicePool getInstance() {
+        return instance;
+    }
+
+    /**
+     * Takes an idle driver service, starting the pool on first use.
+     * If every service is busy, an extra one is started rather than waiting.
+     * @param browserConfig The local browser configuration.
+     * @return A running driver service reserved for the caller.
+     */
+    public DriverService acquire(BrowserConfig browserConfig) {
+        if (warmedUp.compareAndSet(false, true)) {
+            warmUp(browserConfig);
+        }
+        DriverService service;
+        while ((service = idleServices.poll()) != null) {
+            if (service.isRunning()) {
+                logger.debug("Reusing driver service at {}", service.getUrl());
+                return service;
+            }
+            logger.warn("Discarding stopped driver service at {}", service.getUrl());
+            allServices.remove(service);
+        }
+        logger.debug("No idle driver service available, starting a new one");
+        return startService(browserConfig);
+    }
+
+    /**
+     * Returns a service to the pool once its session has been quit.
+     * @param service The service to release.
+     */
+    public void release(DriverService service) {
+        if (service.isRunning()) {
+            idleServices.offer(service);
+        } else {
+            allServices.remove(service);
+        }
+    }
+
+    /**
+     * Stops every driver service process.
+     */
+    public void shutdown() {
+        if (allServices.isEmpty()) {
+            return;
+        }
+        logger.info("Stopping {} local driver service(s)", allServices.size());
+        allServices.forEach(service -> {
+            try {
+                service.stop();
+            } catch (Exception e) {
+                logger.debug("Failed to stop driver service: {}", e.getMessage());
+            }
+        });
+        allServices.clear();
+        idleServices.clear();
+        warmedUp.set(false);
+    }
+
+    /**
+     * Starts the configured number of services in parallel and parks them as idle.
+     * @param browserConfig The local browser configuration.
+     */
+    private void warmUp(BrowserConfig browserConfig) {
+        logger.info("Pre-starting {} {} driver service(s)", browserConfig.getDriverPoolSize(), browserConfig.getBrowserName());
+        resolveDriver(browserConfig);
+        List<CompletableFuture<DriverService>> starting = new ArrayList<>();
+        for (int i = 0; i < browserConfig.getDriverPoolSize(); i++) {
+            starting.add(CompletableFuture.supplyAsync(() -> startService(browserConfig)));
+        }
+        starting.forEach(future -> idleServices.offer(future.join()));
+    }
+
+    private DriverService startService(BrowserConfig browserConfig) {
+        DriverService service = isFirefox(browserConfig)
+                ? new GeckoDriverService.Builder().usingDriverExecutable(resolveDriver(browserConfig)).usingAnyFreePort().build()
+                : new ChromeDriverService.Builder().usingDriverExecutable(resolveDriver(browserConfig)).usingAnyFreePort().build();
+        try {
+            service.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start driver service: " + e.getMessage(), e);
+        }
+        allServices.add(service);
+        logger.debug("Driver service started at {}", service.getUrl());
+        return service;
+    }
+
+    /**
+     * Resolves the driver binary: an explicit driverPath first, then a binary preinstalled on the PATH.
+     * Only when neither exists does WebDriverManager resolve one, which may download it.
+     * @param browserConfig The local browser configuration.
+     * @return The driver executable.
+     */
+    private File resolveDriver(BrowserConfig browserConfig) {
+        resolveLock.lock();
+        try {
+            if (driverExecutable == null) {
+                File onPath = findOnPath(isFirefox(browserConfig) ? "geckodriver" : "chromedriver");
+                if (browserConfig.getDriverPath() != null) {
+                    driverExecutable = new File(browserConfig.getDriverPath());
+                } else if (onPath != null) {
+                    driverExecutable = onPath;
+                } else {
+                    logger.info("No driver binary configured or on the PATH, resolving one with WebDriverManager");
+                    WebDriverManager manager = isFirefox(browserConfig)
+                            ? WebDriverManager.firefoxdriver()
+                            : WebDriverManager.chromedriver();
+                    manager.setup();
+                    driverExecutable = new File(manager.getDownloadedDriverPath());
+                }
+                logger.info("Using local driver binary: {}", driverExecutable);
+            }
+            return driverExecutable;
+        } finally {
+            resolveLock.unlock();
+        }
+    }
+
+    private static File findOnPath(String name) {
+        String path = System.getenv("PATH");
+        if (path == null) {
+            return null;
+        }
+        String fileName = System.getProperty("os.name", "").toLowerCase().startsWith("windows") ? name + ".exe" : name;
+        for (String directory : path.split(File.pathSeparator)) {
+            File candidate = new File(directory, fileName);
+            if (candidate.isFile() && candidate.canExecute()) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    static boolean isFirefox(BrowserConfig browserConfig) {
+        return "firefox".equalsIgnoreCase(browserConfig.getBrowserName());
+    }
+}
@@ -0,0 +1,93 @@
+package commons;
+
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * HttpClient factory that shares one underlying client per remote endpoint.
+ * Sessions created against the same grid reuse the same connection pool and keep-alive
+ * connections instead of each opening (and tearing down) their own.
+ */
+public class PooledHttpClientFactory implements HttpClient.Factory {
+    private static final Logger logger = LogManager.getLogger(PooledHttpClientFactory.class);
+    private static final PooledHttpClientFactory instance = new PooledHttpClientFactory();
+
+    private final HttpClient.Factory delegateFactory = HttpClient.Factory.createDefault();
+    private final Map<URI, HttpClient> sharedClients = new ConcurrentHashMap<>();
+
+    private PooledHttpClientFactory() {}
+
+    /**
+     * Provides the process-wide factory instance.
+     * @return The shared PooledHttpClientFactory.
+     */
+    public static PooledHttpClientFactory getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns a client bound to the shared pool for the config's base URI.
+     * The returned client ignores close(), since RemoteWebDriver closes its client on quit.
+     * @param config The client configuration; its base URI selects the pool.
+     * @return A non-closing view of the shared client.
+     */
+    @Override
+    public HttpClient createClient(ClientConfig config) {
+        HttpClient shared = sharedClients.computeIfAbsent(config.baseUri(), uri -> {
+            logger.info("Creating shared HTTP client for {}", uri.getHost());
+            return delegateFactory.createClient(config);
+        });
+        return new NonClosingHttpClient(shared);
+    }
+
+    /**
+     * Closes every shared client. Subsequent sessions transparently open a fresh pool.
+     */
+    public void closeAll() {
+        sharedClients.forEach((uri, client) -> {
+            try {
+                client.close();
+            } catch (Exception e) {
+                logger.warn("Failed to close shared HTTP client for {}: {}", uri.getHost(), e.getMessage());
+            }
+        });
+        sharedClients.clear();
+        logger.debug("All shared HTTP clients closed");
+    }
+
+    /**
+     * Thin wrapper that forwards requests to the shared client and leaves it open on close().
+     */
+    private static class NonClosingHttpClient implements HttpClient {
+        private final HttpClient delegate;
+
+        NonClosingHttpClient(HttpClient delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) {
+            return delegate.execute(request);
+        }
+
+        @Override
+        public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+            return delegate.openSocket(request, listener);
+        }
+
+        @Override
+        public void close() {
+            // The underlying client is shared across sessions and closed by closeAll()
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package commons;
+
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzips WebDriver request bodies above a size threshold.
+ * Only enable this against grids that accept 'Content-Encoding: gzip' on incoming commands.
+ */
+public class RequestCompressionFilter implements Filter {
+    private final int thresholdBytes;
+
+    public RequestCompressionFilter(int thresholdBytes) {
+        this.thresholdBytes = thresholdBytes;
+    }
+
+    @Override
+    public HttpHandler apply(HttpHandler next) {
+        return request -> {
+            byte[] body = Contents.bytes(request.getContent());
+            if (body.length >= thresholdBytes && request.getHeader("Content-Encoding") == null) {
+                byte[] compressed = gzip(body);
+                request.setContent(Contents.bytes(compressed));
+                request.setHeader("Content-Encoding", "gzip");
+                // The client computes the length of the new body itself
+                request.removeHeader("Content-Length");
+            } else {
+                // The body supplier may be single-use, so hand back the bytes already read
+                request.setContent(Contents.bytes(body));
+            }
+            return next.execute(request);
+        };
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(body.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress request body", e);
+        }
+        return output.toByteArray();
+    }
+}
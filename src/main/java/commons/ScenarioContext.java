@@ -0,0 +1,94 @@
+package commons;
+
+import org.openqa.selenium.remote.RemoteWebDriver;
+import utils.SeleniumUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Carries one scenario's browser session and state explicitly, instead of binding them to the
+ * executing thread. Any thread holding the context can drive the scenario; closing it releases
+ * the session exactly once.
+ */
+public class ScenarioContext implements AutoCloseable {
+    private final String name;
+    private final RemoteWebDriver driver;
+    private final SeleniumUtils seleniumUtils;
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    /**
+     * Wraps an already open session.
+     * @param name The scenario name, used in logs and reports.
+     * @param driver The session the scenario drives.
+     */
+    public ScenarioContext(String name, RemoteWebDriver driver) {
+        this.name = name;
+        this.driver = driver;
+        this.seleniumUtils = new SeleniumUtils(driver);
+    }
+
+    /**
+     * Opens a new (or warm) session for a scenario. The session is not tied to the opening thread,
+     * so the reaper only quits it once idle, never because that thread has ended.
+     * @param name The scenario name.
+     * @return A context owning the session.
+     */
+    public static ScenarioContext open(String name) {
+        RemoteWebDriver driver = DriverManager.openSession();
+        SessionRegistry.getInstance().detachOwner(driver, "scenario '" + name + "'");
+        return new ScenarioContext(name, driver);
+    }
+
+    // Getters
+    public String getName() {
+        return name;
+    }
+
+    public RemoteWebDriver getDriver() {
+        return driver;
+    }
+
+    public SeleniumUtils getSeleniumUtils() {
+        return seleniumUtils;
+    }
+
+    /**
+     * Stores a value for later steps of the same scenario.
+     * @param key The attribute name.
+     * @param value The value.
+     */
+    public void put(String key, Object value) {
+        attributes.put(key, value);
+    }
+
+    /**
+     * Reads a value stored by an earlier step.
+     * @param key The attribute name.
+     * @param type The expected type.
+     * @return The value, or null if absent.
+     */
+    public <T> T get(String key, Class<T> type) {
+        return type.cast(attributes.get(key));
+    }
+
+    /**
+     * Releases the session through DriverManager, which parks or quits it.
+     */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            DriverManager.closeSession(driver);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ScenarioContext{" +
+                "name='" + name + '\'' +
+                ", sessionId=" + driver.getSessionId() +
+                '}';
+    }
+}
@@ -0,0 +1,112 @@
+package commons;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Runs scenarios concurrently, each with its own {@link ScenarioContext}.
+ * On Java 21+ every scenario gets a virtual thread, so hundreds of sessions blocked on remote
+ * WebDriver calls cost little memory; on older runtimes a bounded platform thread pool is used.
+ * Either way the number of concurrently open sessions is capped, e.g. at the grid's parallel limit.
+ */
+public class ScenarioExecutor implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(ScenarioExecutor.class);
+
+    private final ExecutorService executor;
+    private final Semaphore sessionPermits;
+    private final boolean virtualThreads;
+
+    /**
+     * @param maxConcurrentSessions The maximum number of scenarios (and sessions) running at once.
+     */
+    public ScenarioExecutor(int maxConcurrentSessions) {
+        if (maxConcurrentSessions <= 0) {
+            throw new IllegalArgumentException("maxConcurrentSessions must be positive");
+        }
+        this.sessionPermits = new Semaphore(maxConcurrentSessions, true);
+        ExecutorService virtual = newVirtualThreadExecutor();
+        this.virtualThreads = virtual != null;
+        this.executor = virtual != null ? virtual : Executors.newFixedThreadPool(maxConcurrentSessions, platformThreads());
+        logger.info("Scenario executor started with {} threads, up to {} concurrent session(s)",
+                virtualThreads ? "virtual" : "platform", maxConcurrentSessions);
+    }
+
+    /**
+     * Runs a scenario on its own thread with a freshly opened session, which is released afterwards.
+     * @param name The scenario name.
+     * @param scenario The scenario body.
+     * @return A future completing when the scenario has finished and its session was released.
+     */
+    public CompletableFuture<Void> submit(String name, Consumer<ScenarioContext> scenario) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                sessionPermits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+            try (ScenarioContext context = ScenarioContext.open(name)) {
+                logger.debug("Running scenario '{}' on session {}", name, context.getDriver().getSessionId());
+                scenario.accept(context);
+            } finally {
+                sessionPermits.release();
+            }
+        }, executor);
+    }
+
+    /**
+     * @return true if scenarios run on virtual threads.
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Stops accepting scenarios and waits for the running ones to finish.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                logger.info("Waiting for running scenarios to finish...");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Looks up Executors.newVirtualThreadPerTaskExecutor() reflectively, as the project still targets Java 11.
+     * @return The virtual thread executor, or null if the runtime does not provide one.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            // Java 19/20 expose the method but throw unless preview features are enabled
+            logger.debug("Virtual threads not available on Java {}", System.getProperty("java.version"));
+            return null;
+        }
+    }
+
+    private static ThreadFactory platformThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "scenario-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
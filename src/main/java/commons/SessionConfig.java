@@ -0,0 +1,88 @@
+package commons;
+
+/**
+ * Strongly-typed configuration for session lifecycle management.
+ * All values have sensible defaults so the 'session' YAML section is optional.
+ */
+public class SessionConfig {
+    private int idleTimeoutSeconds = 300;
+    private int reaperIntervalSeconds = 30;
+    private int shutdownTimeoutSeconds = 60;
+    private boolean reprovisionOnFailure = true;
+    private int warmSessions = 0;
+
+    // Default constructor for YAML deserialization
+    public SessionConfig() {}
+
+    // Getters
+    public int getIdleTimeoutSeconds() {
+        return idleTimeoutSeconds;
+    }
+
+    public int getReaperIntervalSeconds() {
+        return reaperIntervalSeconds;
+    }
+
+    public int getShutdownTimeoutSeconds() {
+        return shutdownTimeoutSeconds;
+    }
+
+    public boolean isReprovisionOnFailure() {
+        return reprovisionOnFailure;
+    }
+
+    public int getWarmSessions() {
+        return warmSessions;
+    }
+
+    // Setters
+    public void setIdleTimeoutSeconds(int idleTimeoutSeconds) {
+        this.idleTimeoutSeconds = idleTimeoutSeconds;
+    }
+
+    public void setReaperIntervalSeconds(int reaperIntervalSeconds) {
+        this.reaperIntervalSeconds = reaperIntervalSeconds;
+    }
+
+    public void setShutdownTimeoutSeconds(int shutdownTimeoutSeconds) {
+        this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+    }
+
+    public void setReprovisionOnFailure(boolean reprovisionOnFailure) {
+        this.reprovisionOnFailure = reprovisionOnFailure;
+    }
+
+    public void setWarmSessions(int warmSessions) {
+        this.warmSessions = warmSessions;
+    }
+
+    /**
+     * Validates that all intervals are usable.
+     * @throws IllegalStateException if any value is out of range.
+     */
+    public void validate() {
+        if (idleTimeoutSeconds <= 0) {
+            throw new IllegalStateException("idleTimeoutSeconds must be positive");
+        }
+        if (reaperIntervalSeconds <= 0) {
+            throw new IllegalStateException("reaperIntervalSeconds must be positive");
+        }
+        if (shutdownTimeoutSeconds <= 0) {
+            throw new IllegalStateException("shutdownTimeoutSeconds must be positive");
+        }
+        if (warmSessions < 0) {
+            throw new IllegalStateException("warmSessions must not be negative");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SessionConfig{" +
+                "idleTimeoutSeconds=" + idleTimeoutSeconds +
+                ", reaperIntervalSeconds=" + reaperIntervalSeconds +
+                ", shutdownTimeoutSeconds=" + shutdownTimeoutSeconds +
+                ", reprovisionOnFailure=" + reprovisionOnFailure +
+                ", warmSessions=" + warmSessions +
+                '}';
+    }
+}
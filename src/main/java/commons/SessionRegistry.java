@@ -0,0 +1,414 @@
+package commons;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+import org.openqa.selenium.remote.http.Filter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utils.SessionCircuitBreaker;
+
+/**
+ * Process-wide registry of every live WebDriver session, independent of which thread owns it.
+ * A background reaper quits sessions whose owner thread has died or that have been idle too long,
+ * and shutdown quits whatever is left in parallel before reporting the leaks.
+ */
+public class SessionRegistry {
+    private static final Logger logger = LogManager.getLogger(SessionRegistry.class);
+    private static final SessionRegistry instance = new SessionRegistry();
+    private static final Pattern SESSION_PATH = Pattern.compile("/session/([^/]+)");
+    private static final int MAX_QUIT_THREADS = 16;
+
+    private final Map<String, SessionEntry> sessions = new ConcurrentHashMap<>();
+    private final List<String> reapedSessions = new CopyOnWriteArrayList<>();
+    // Sessions kept open between scenarios, most recently parked first; each is probed before reuse,
+    // as the grid may have timed it out while it waited
+    private final ConcurrentLinkedDeque<SessionEntry> parkedSessions = new ConcurrentLinkedDeque<>();
+    // Quits of sessions whose breaker opened, sent off the owner's thread; shutdown waits for them
+    private final ExecutorService backgroundQuits = Executors.newCachedThreadPool(daemonThreads("session-quit"));
+    private final Set<CompletableFuture<Void>> pendingQuits = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean reaperStarted = new AtomicBoolean(false);
+    private volatile ScheduledExecutorService reaper;
+
+    private SessionRegistry() {}
+
+    /**
+     * Provides the process-wide registry instance.
+     * @return The shared SessionRegistry.
+     */
+    public static SessionRegistry getInstance() {
+        return instance;
+    }
+
+    /**
+     * Registers a freshly created session as owned by the current thread.
+     * Starts the reaper on first use.
+     * @param driver The new session.
+     */
+    public void register(RemoteWebDriver driver) {
+        register(driver, () -> { });
+    }
+
+    /**
+     * Registers a freshly created session together with a callback to run once it has been quit,
+     * whether by its owner, the reaper or shutdown.
+     * @param driver The new session.
+     * @param onQuit Cleanup for resources tied to the session.
+     */
+    public void register(RemoteWebDriver driver, Runnable onQuit) {
+        SessionEntry entry = new SessionEntry(driver, Thread.currentThread(), onQuit);
+        sessions.put(entry.sessionId, entry);
+        logger.debug("Registered session {} for thread: {}", entry.sessionId, entry.ownerName);
+        startReaper();
+    }
+
+    /**
+     * Removes a session from the registry without quitting it.
+     * @param driver The session to remove.
+     */
+    public void deregister(RemoteWebDriver driver) {
+        SessionId sessionId = driver.getSessionId();
+        if (sessionId != null && sessions.remove(sessionId.toString()) != null) {
+            logger.debug("Deregistered session {}", sessionId);
+        }
+    }
+
+    /**
+     * Removes a session from the registry and quits it.
+     * @param driver The session to quit.
+     */
+    public void quit(RemoteWebDriver driver) {
+        SessionId sessionId = driver.getSessionId();
+        SessionEntry entry = sessionId != null ? sessions.remove(sessionId.toString()) : null;
+        if (entry != null && entry.breaker.isOpen()) {
+            // The owner is failing fast, so it must not sit through the connect and read timeouts of the quit.
+            // A session that is not confirmed gone may still hold a grid slot or browser, so it is still quit.
+            quitInBackground(entry);
+        } else if (entry != null) {
+            try {
+                driver.quit();
+            } finally {
+                entry.onQuit.run();
+            }
+        } else {
+            driver.quit();
+        }
+    }
+
+    /**
+     * Releases a session from its owner thread, for sessions carried explicitly (see {@link ScenarioContext})
+     * that may be driven from other threads after the opening one has ended. Such sessions are only
+     * reaped once idle too long.
+     * @param driver The session.
+     * @param ownerName Describes the holder in logs and the leak report, e.g. the scenario name.
+     */
+    public void detachOwner(RemoteWebDriver driver, String ownerName) {
+        SessionId sessionId = driver.getSessionId();
+        SessionEntry entry = sessionId != null ? sessions.get(sessionId.toString()) : null;
+        if (entry != null) {
+            entry.owner = null;
+            entry.ownerName = ownerName;
+        }
+    }
+
+    /**
+     * Keeps a live session open without an owner so another scenario can claim it.
+     * Parked sessions are exempt from the orphan check but still reaped once idle too long.
+     * @param driver The session, already reset to a clean state.
+     * @return true if the session was parked, false if it is not registered or already dead.
+     */
+    public boolean park(RemoteWebDriver driver) {
+        SessionId sessionId = driver.getSessionId();
+        SessionEntry entry = sessionId != null ? sessions.get(sessionId.toString()) : null;
+        if (entry == null || entry.breaker.isOpen()) {
+            return false;
+        }
+        entry.owner = null;
+        parkedSessions.push(entry);
+        logger.debug("Parked session {} for reuse ({} parked)", entry.sessionId, parkedSessions.size());
+        return true;
+    }
+
+    /**
+     * Hands a parked session to the current thread.
+     * Each candidate is probed first; sessions the grid has already ended are quit and skipped.
+     * @return A live session now owned by the current thread, or null if none is parked.
+     */
+    public RemoteWebDriver claimParked() {
+        SessionEntry entry;
+        while ((entry = parkedSessions.poll()) != null) {
+            // Skip sessions reaped or quit by shutdown while they were parked
+            if (sessions.get(entry.sessionId) != entry || entry.breaker.isOpen()) {
+                continue;
+            }
+            if (!isResponsive(entry)) {
+                logger.info("Parked session {} no longer responds, discarding it", entry.sessionId);
+                if (sessions.remove(entry.sessionId, entry)) {
+                    quitInBackground(entry);
+                }
+                continue;
+            }
+            entry.owner = Thread.currentThread();
+            entry.ownerName = entry.owner.getName();
+            logger.debug("Claimed parked session {} for thread: {}", entry.sessionId, entry.ownerName);
+            return entry.driver;
+        }
+        return null;
+    }
+
+    private static boolean isResponsive(SessionEntry entry) {
+        try {
+            entry.driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            logger.debug("Probe of parked session {} failed: {}", entry.sessionId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Returns the number of sessions waiting to be claimed.
+     * @return The parked session count.
+     */
+    public int parkedCount() {
+        return parkedSessions.size();
+    }
+
+    /**
+     * Returns the circuit breaker shared by everything driving this session.
+     * Drivers not created through the registry get a detached breaker of their own.
+     * @param driver The session.
+     * @return The session's circuit breaker.
+     */
+    public SessionCircuitBreaker breakerFor(WebDriver driver) {
+        if (driver instanceof RemoteWebDriver) {
+            SessionId sessionId = ((RemoteWebDriver) driver).getSessionId();
+            SessionEntry entry = sessionId != null ? sessions.get(sessionId.toString()) : null;
+            if (entry != null) {
+                return entry.breaker;
+            }
+        }
+        return new SessionCircuitBreaker(String.valueOf(driver));
+    }
+
+    /**
+     * Checks whether a session is still live, i.e. it has not been quit or reaped.
+     * @param driver The session to check.
+     * @return true if the session is registered.
+     */
+    public boolean isActive(RemoteWebDriver driver) {
+        SessionId sessionId = driver.getSessionId();
+        return sessionId != null && sessions.containsKey(sessionId.toString());
+    }
+
+    /**
+     * Returns the number of live sessions.
+     * @return The live session count.
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Filter that marks a session as active whenever a command is sent for it.
+     * @return A filter to install on the WebDriver HTTP client.
+     */
+    public Filter activityFilter() {
+        return next -> request -> {
+            Matcher matcher = SESSION_PATH.matcher(request.getUri());
+            if (matcher.find()) {
+                SessionEntry entry = sessions.get(matcher.group(1));
+                if (entry != null) {
+                    entry.lastActivity = Instant.now();
+                }
+            }
+            return next.execute(request);
+        };
+    }
+
+    /**
+     * Quits sessions whose owner thread has terminated or that exceeded the idle timeout.
+     * @param idleTimeout The maximum time a session may go without commands.
+     */
+    void reap(Duration idleTimeout) {
+        Instant idleCutoff = Instant.now().minus(idleTimeout);
+        for (SessionEntry entry : sessions.values()) {
+            String reason = null;
+            Thread owner = entry.owner;
+            if (owner != null && !owner.isAlive()) {
+                reason = "orphaned (owner thread " + entry.ownerName + " terminated)";
+            } else if (entry.lastActivity.isBefore(idleCutoff)) {
+                reason = "idle since " + entry.lastActivity;
+            }
+            if (reason != null && sessions.remove(entry.sessionId, entry)) {
+                parkedSessions.remove(entry);
+                logger.warn("Reaping session {}: {}", entry.sessionId, reason);
+                reapedSessions.add(entry.describe() + " reaped: " + reason);
+                quitQuietly(entry);
+            }
+        }
+    }
+
+    /**
+     * Stops the reaper, quits every remaining session in parallel and logs a leak report.
+     * @param timeout The maximum time to wait for all sessions to quit.
+     */
+    public void shutdown(Duration timeout) {
+        if (reaper != null) {
+            reaper.shutdownNow();
+            reaper = null;
+        }
+        reaperStarted.set(false);
+
+        List<SessionEntry> remaining = new ArrayList<>(sessions.values());
+        sessions.clear();
+        // Parked sessions are kept open on purpose, so they are not reported as leaks
+        List<SessionEntry> leaked = new ArrayList<>(remaining);
+        leaked.removeAll(parkedSessions);
+        parkedSessions.clear();
+        if (!remaining.isEmpty()) {
+            logger.info("Quitting {} remaining session(s) in parallel", remaining.size());
+            ExecutorService quitPool = Executors.newFixedThreadPool(Math.min(remaining.size(), MAX_QUIT_THREADS), daemonThreads("session-quit"));
+            remaining.forEach(entry -> quitPool.submit(() -> quitQuietly(entry)));
+            quitPool.shutdown();
+            try {
+                if (!quitPool.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    logger.warn("Timed out after {}s waiting for sessions to quit", timeout.getSeconds());
+                    quitPool.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                quitPool.shutdownNow();
+            }
+        }
+        awaitBackgroundQuits(timeout);
+        logLeakReport(leaked);
+    }
+
+    private void logLeakReport(List<SessionEntry> leaked) {
+        if (leaked.isEmpty() && reapedSessions.isEmpty()) {
+            logger.info("Session leak report: no leaked sessions");
+            return;
+        }
+        logger.warn("Session leak report: {} session(s) still open at shutdown, {} reaped during the run",
+                leaked.size(), reapedSessions.size());
+        leaked.forEach(entry -> logger.warn("  {} open at shutdown", entry.describe()));
+        reapedSessions.forEach(description -> logger.warn("  {}", description));
+        reapedSessions.clear();
+    }
+
+    private void startReaper() {
+        if (!reaperStarted.compareAndSet(false, true)) {
+            return;
+        }
+        SessionConfig sessionConfig = ConfigManager.getInstance().getSessionConfig();
+        Duration idleTimeout = Duration.ofSeconds(sessionConfig.getIdleTimeoutSeconds());
+        long interval = sessionConfig.getReaperIntervalSeconds();
+        reaper = Executors.newSingleThreadScheduledExecutor(daemonThreads("session-reaper"));
+        reaper.scheduleWithFixedDelay(() -> {
+            try {
+                reap(idleTimeout);
+            } catch (Exception e) {
+                logger.error("Session reaper failed", e);
+            }
+        }, interval, interval, TimeUnit.SECONDS);
+        logger.debug("Session reaper started (interval {}s, idle timeout {}s)", interval, idleTimeout.getSeconds());
+    }
+
+    private void quitInBackground(SessionEntry entry) {
+        CompletableFuture<Void> quit = CompletableFuture.runAsync(() -> quitQuietly(entry), backgroundQuits);
+        pendingQuits.add(quit);
+        quit.whenComplete((result, error) -> pendingQuits.remove(quit));
+    }
+
+    private void awaitBackgroundQuits(Duration timeout) {
+        if (pendingQuits.isEmpty()) {
+            return;
+        }
+        try {
+            CompletableFuture.allOf(pendingQuits.toArray(new CompletableFuture<?>[0])).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("{} background session quit(s) did not finish: {}", pendingQuits.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Quits a session, logging rather than throwing failures, and runs its cleanup callback.
+     * Sessions the grid has confirmed ended are not sent a quit command, as it could only fail.
+     */
+    private static void quitQuietly(SessionEntry entry) {
+        if (entry.breaker.isSessionGone()) {
+            logger.debug("Skipping remote quit of ended session {}", entry.sessionId);
+            entry.onQuit.run();
+            return;
+        }
+        try {
+            entry.driver.quit();
+        } catch (Exception e) {
+            logger.debug("Failed to quit session {}: {}", entry.sessionId, e.getMessage());
+        } finally {
+            entry.onQuit.run();
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Bookkeeping for a single live session.
+     */
+    private static class SessionEntry {
+        private final RemoteWebDriver driver;
+        private final String sessionId;
+        // Null while the session is parked or carried by a ScenarioContext
+        private volatile Thread owner;
+        private volatile String ownerName;
+        private final Runnable onQuit;
+        private final SessionCircuitBreaker breaker;
+        private final Instant createdAt = Instant.now();
+        private volatile Instant lastActivity = createdAt;
+
+        SessionEntry(RemoteWebDriver driver, Thread owner, Runnable onQuit) {
+            this.driver = driver;
+            this.sessionId = driver.getSessionId().toString();
+            this.owner = owner;
+            this.ownerName = owner.getName();
+            this.onQuit = onQuit;
+            this.breaker = new SessionCircuitBreaker(sessionId);
+        }
+
+        String describe() {
+            return "Session " + sessionId + " (owner " + ownerName + ", age "
+                    + Duration.between(createdAt, Instant.now()).getSeconds() + "s, last activity " + lastActivity + ")";
+        }
+    }
+}
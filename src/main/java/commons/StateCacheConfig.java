@@ -0,0 +1,73 @@
+package commons;
+
+import java.util.Objects;
+
+/**
+ * Strongly-typed configuration for the authenticated browser-state cache.
+ * All values have sensible defaults so the 'stateCache' YAML section is optional.
+ */
+public class StateCacheConfig {
+    private boolean enabled = true;
+    private int ttlMinutes = 30;
+    private String directory = "target/browser-state";
+    private String bootstrapPath = "/robots.txt";
+
+    // Default constructor for YAML deserialization
+    public StateCacheConfig() {}
+
+    // Getters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getTtlMinutes() {
+        return ttlMinutes;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public String getBootstrapPath() {
+        return bootstrapPath;
+    }
+
+    // Setters
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void setTtlMinutes(int ttlMinutes) {
+        this.ttlMinutes = ttlMinutes;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public void setBootstrapPath(String bootstrapPath) {
+        this.bootstrapPath = bootstrapPath;
+    }
+
+    /**
+     * Validates that all required fields are present and usable.
+     * @throws IllegalStateException if any value is out of range.
+     */
+    public void validate() {
+        Objects.requireNonNull(directory, "directory must not be null");
+        Objects.requireNonNull(bootstrapPath, "bootstrapPath must not be null");
+        if (ttlMinutes <= 0) {
+            throw new IllegalStateException("ttlMinutes must be positive");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "StateCacheConfig{" +
+                "enabled=" + enabled +
+                ", ttlMinutes=" + ttlMinutes +
+                ", directory='" + directory + '\'' +
+                ", bootstrapPath='" + bootstrapPath + '\'' +
+                '}';
+    }
+}
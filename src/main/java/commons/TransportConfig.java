@@ -0,0 +1,85 @@
+package commons;
+
+/**
+ * Strongly-typed configuration for the HTTP transport used to talk to the remote grid.
+ * All values have sensible defaults so the 'transport' YAML section is optional.
+ */
+public class TransportConfig {
+    private int connectTimeoutSeconds = 10;
+    private int readTimeoutSeconds = 120;
+    private boolean compressRequests = false;
+    private int compressionThresholdBytes = 1024;
+    private boolean metricsEnabled = true;
+
+    // Default constructor for YAML deserialization
+    public TransportConfig() {}
+
+    // Getters
+    public int getConnectTimeoutSeconds() {
+        return connectTimeoutSeconds;
+    }
+
+    public int getReadTimeoutSeconds() {
+        return readTimeoutSeconds;
+    }
+
+    public boolean isCompressRequests() {
+        return compressRequests;
+    }
+
+    public int getCompressionThresholdBytes() {
+        return compressionThresholdBytes;
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    // Setters
+    public void setConnectTimeoutSeconds(int connectTimeoutSeconds) {
+        this.connectTimeoutSeconds = connectTimeoutSeconds;
+    }
+
+    public void setReadTimeoutSeconds(int readTimeoutSeconds) {
+        this.readTimeoutSeconds = readTimeoutSeconds;
+    }
+
+    public void setCompressRequests(boolean compressRequests) {
+        this.compressRequests = compressRequests;
+    }
+
+    public void setCompressionThresholdBytes(int compressionThresholdBytes) {
+        this.compressionThresholdBytes = compressionThresholdBytes;
+    }
+
+    public void setMetricsEnabled(boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+    }
+
+    /**
+     * Validates that all timeouts and thresholds are usable.
+     * @throws IllegalStateException if any value is out of range.
+     */
+    public void validate() {
+        if (connectTimeoutSeconds <= 0) {
+            throw new IllegalStateException("connectTimeoutSeconds must be positive");
+        }
+        if (readTimeoutSeconds <= 0) {
+            throw new IllegalStateException("readTimeoutSeconds must be positive");
+        }
+        if (compressionThresholdBytes < 0) {
+            throw new IllegalStateException("compressionThresholdBytes must not be negative");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TransportConfig{" +
+                "connectTimeoutSeconds=" + connectTimeoutSeconds +
+                ", readTimeoutSeconds=" + readTimeoutSeconds +
+                ", compressRequests=" + compressRequests +
+                ", compressionThresholdBytes=" + compressionThresholdBytes +
+                ", metricsEnabled=" + metricsEnabled +
+                '}';
+    }
+}
@@ -26,4 +26,20 @@ public class RegisterPage {
     public boolean signupButtonElement() {
         return seleniumUtils.isElementDisplayed(RegisterPageLocators.SIGNUP_BUTTON);
     }
+
+    public boolean loggedInUsernameElement() {
+        return seleniumUtils.isElementDisplayed(RegisterPageLocators.LOGGED_IN_USERNAME);
+    }
+
+    /**
+     * Checks the header for the logged-in marker without waiting for it, for pages that are already loaded.
+     * @return true if the header shows a logged-in user.
+     */
+    public boolean hasLoggedInUser() {
+        return seleniumUtils.getElementCount(RegisterPageLocators.LOGGED_IN_USERNAME) > 0;
+    }
+
+    public String loggedInUsername() {
+        return seleniumUtils.getText(RegisterPageLocators.LOGGED_IN_USERNAME);
+    }
 }
@@ -7,6 +7,10 @@ public class RegisterPageLocators {
     public static final By EMAIL_INPUT = By.xpath("//input[@data-qa='signup-email']");
     public static final By SIGNUP_BUTTON = By.xpath("//button[@data-qa='signup-button']");
     public static final By HEADER_SIGNUP_TEXT = By.xpath("//h2[contains(text(),'New User Signup!')]");
+    public static final By LOGIN_EMAIL_INPUT = By.xpath("//input[@data-qa='login-email']");
+    public static final By LOGIN_PASSWORD_INPUT = By.xpath("//input[@data-qa='login-password']");
+    public static final By LOGIN_BUTTON = By.xpath("//button[@data-qa='login-button']");
+    public static final By LOGGED_IN_USERNAME = By.xpath("//a[contains(.,'Logged in as')]/b");
 
 
     
@@ -0,0 +1,25 @@
+package utils;
+
+/**
+ * Custom exception for HTTP API operations used in test setup and teardown.
+ * Provides the request context alongside the underlying failure.
+ */
+public class ApiActionException extends RuntimeException {
+
+    /**
+     * Constructs a new ApiActionException with the specified detail message.
+     * @param message the detail message
+     */
+    public ApiActionException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new ApiActionException with the specified detail message and cause.
+     * @param message the detail message
+     * @param cause the cause
+     */
+    public ApiActionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,125 @@
+package utils;
+
+import org.openqa.selenium.Rectangle;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Plain snapshot of an element's data, read in bulk by {@link SeleniumUtils#extractElements}.
+ * Unlike a WebElement it holds no remote reference, so reading it costs no round trips.
+ */
+public class ElementData {
+    /** Property name for the element's visible text. */
+    public static final String TEXT = "text";
+    /** Property name for the element's visibility. */
+    public static final String VISIBLE = "visible";
+    /** Property name for the element's bounding box in page coordinates. */
+    public static final String RECT = "rect";
+
+    private final int index;
+    private final String text;
+    private final Boolean visible;
+    private final Rectangle rect;
+    private final Map<String, String> attributes;
+
+    public ElementData(int index, String text, Boolean visible, Rectangle rect, Map<String, String> attributes) {
+        this.index = index;
+        this.text = text;
+        this.visible = visible;
+        this.rect = rect;
+        this.attributes = attributes == null ? Collections.emptyMap() : Collections.unmodifiableMap(attributes);
+    }
+
+    /**
+     * Builds an ElementData from the map returned by the extraction script.
+     * @param raw The script result for one element.
+     * @return The converted ElementData.
+     */
+    @SuppressWarnings("unchecked")
+    static ElementData fromScriptResult(Map<String, Object> raw) {
+        Rectangle rect = null;
+        Object rawRect = raw.get(RECT);
+        if (rawRect instanceof Map) {
+            Map<String, Object> box = (Map<String, Object>) rawRect;
+            rect = new Rectangle(toInt(box.get("x")), toInt(box.get("y")), toInt(box.get("height")), toInt(box.get("width")));
+        }
+
+        Map<String, String> attributes = new HashMap<>();
+        Object rawAttributes = raw.get("attributes");
+        if (rawAttributes instanceof Map) {
+            ((Map<String, Object>) rawAttributes).forEach((name, value) ->
+                    attributes.put(name, value == null ? null : String.valueOf(value)));
+        }
+
+        return new ElementData(toInt(raw.get("index")), (String) raw.get(TEXT), (Boolean) raw.get(VISIBLE), rect, attributes);
+    }
+
+    /**
+     * Copies this snapshot with a different index, keeping unrequested properties unset.
+     * @param newIndex The element's position among all matches.
+     * @return The copy.
+     */
+    ElementData withIndex(int newIndex) {
+        return new ElementData(newIndex, text, visible, rect, attributes);
+    }
+
+    private static int toInt(Object value) {
+        return value instanceof Number ? (int) Math.round(((Number) value).doubleValue()) : 0;
+    }
+
+    /**
+     * @return The element's position among all matches of the locator (0-based).
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return The visible text, or null if 'text' was not requested.
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * @return true if the element is rendered and not hidden; false if not requested.
+     */
+    public boolean isVisible() {
+        return Boolean.TRUE.equals(visible);
+    }
+
+    /**
+     * @return The bounding box in page coordinates, or null if 'rect' was not requested.
+     */
+    public Rectangle getRect() {
+        return rect;
+    }
+
+    /**
+     * @param name The attribute name.
+     * @return The attribute value, or null if absent or not requested.
+     */
+    public String getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    /**
+     * @return All requested attributes.
+     */
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public String toString() {
+        return "ElementData{" +
+                "index=" + index +
+                ", text='" + text + '\'' +
+                ", visible=" + visible +
+                ", rect=" + (rect == null ? null : rect.getPoint() + " " + rect.getDimension()) +
+                ", attributes=" + attributes +
+                '}';
+    }
+}
@@ -0,0 +1,299 @@
+package utils;
+
+import org.openqa.selenium.By;
+
+/**
+ * Strategy/value pair recovered from a standard {@link By} locator.
+ * Lets a locator be evaluated inside a script or offline without a WebDriver round trip.
+ */
+public class LocatorSpec {
+    public static final String XPATH = "xpath";
+    public static final String CSS = "css";
+    public static final String LINK_TEXT = "linkText";
+    public static final String PARTIAL_LINK_TEXT = "partialLinkText";
+
+    private final String strategy;
+    private final String value;
+
+    private LocatorSpec(String strategy, String value) {
+        this.strategy = strategy;
+        this.value = value;
+    }
+
+    /**
+     * Converts a standard locator into a strategy/value pair.
+     * id, name, className and tagName are expressed as CSS selectors.
+     * @param locator The locator to convert.
+     * @return The spec, or null for custom locators (chained, relative, etc.).
+     */
+    public static LocatorSpec from(By locator) {
+        String description = locator.toString();
+        int separator = description.indexOf(": ");
+        if (!description.startsWith("By.") || separator < 0) {
+            return null;
+        }
+        String type = description.substring(3, separator);
+        String value = description.substring(separator + 2);
+        switch (type) {
+            case "xpath":
+                return new LocatorSpec(XPATH, value);
+            case "cssSelector":
+                return new LocatorSpec(CSS, value);
+            case "id":
+                return new LocatorSpec(CSS, "[id=\"" + escapeCss(value) + "\"]");
+            case "name":
+                return new LocatorSpec(CSS, "[name=\"" + escapeCss(value) + "\"]");
+            case "className":
+                return new LocatorSpec(CSS, "." + value);
+            case "tagName":
+                return new LocatorSpec(CSS, value);
+            case "linkText":
+                return new LocatorSpec(LINK_TEXT, value);
+            case "partialLinkText":
+                return new LocatorSpec(PARTIAL_LINK_TEXT, value);
+            default:
+                return null;
+        }
+    }
+
+    private static String escapeCss(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * Expresses the locator as an XPath 1.0 expression, e.g. for evaluating it against a saved DOM.
+     * CSS support covers type, id, class and attribute selectors with descendant and child combinators;
+     * pseudo-classes and sibling combinators are not translated.
+     * @return The XPath, or null if the selector uses unsupported CSS.
+     */
+    public String toXPath() {
+        switch (strategy) {
+            case XPATH:
+                return value;
+            case LINK_TEXT:
+                return "//a[normalize-space(.)=" + xpathLiteral(value.trim()) + "]";
+            case PARTIAL_LINK_TEXT:
+                return "//a[contains(normalize-space(.), " + xpathLiteral(value.trim()) + ")]";
+            default:
+                return new CssTranslator(value).translate();
+        }
+    }
+
+    /**
+     * Quotes a string as an XPath literal, using concat() when it contains both kinds of quote.
+     * @param text The text to quote.
+     * @return The XPath literal.
+     */
+    static String xpathLiteral(String text) {
+        if (!text.contains("'")) {
+            return "'" + text + "'";
+        }
+        if (!text.contains("\"")) {
+            return "\"" + text + "\"";
+        }
+        return "concat('" + text.replace("'", "', \"'\", '") + "')";
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return strategy + ": " + value;
+    }
+
+    /**
+     * Single-use recursive descent translator from a CSS selector list to XPath.
+     */
+    private static class CssTranslator {
+        private final String css;
+        private int pos;
+
+        CssTranslator(String css) {
+            this.css = css.trim();
+        }
+
+        String translate() {
+            StringBuilder xpath = new StringBuilder();
+            while (true) {
+                String selector = selector();
+                if (selector == null) {
+                    return null;
+                }
+                xpath.append(selector);
+                skipWhitespace();
+                if (pos >= css.length()) {
+                    return xpath.toString();
+                }
+                if (css.charAt(pos) != ',') {
+                    return null;
+                }
+                pos++;
+                xpath.append(" | ");
+            }
+        }
+
+        /**
+         * Compound selectors joined by descendant (whitespace) or child (&gt;) combinators.
+         */
+        private String selector() {
+            StringBuilder xpath = new StringBuilder();
+            String axis = "//";
+            skipWhitespace();
+            while (true) {
+                String compound = compound();
+                if (compound == null) {
+                    return null;
+                }
+                xpath.append(axis).append(compound);
+                boolean whitespace = skipWhitespace();
+                if (pos >= css.length() || css.charAt(pos) == ',') {
+                    return xpath.toString();
+                }
+                if (css.charAt(pos) == '>') {
+                    pos++;
+                    skipWhitespace();
+                    axis = "/";
+                } else if (whitespace) {
+                    axis = "//";
+                } else {
+                    return null;
+                }
+            }
+        }
+
+        private String compound() {
+            String tag = "*";
+            StringBuilder predicates = new StringBuilder();
+            int start = pos;
+            if (pos < css.length() && css.charAt(pos) == '*') {
+                pos++;
+            } else if (pos < css.length() && isIdentChar(css.charAt(pos))) {
+                tag = identifier().toLowerCase();
+            }
+            while (pos < css.length()) {
+                char c = css.charAt(pos);
+                String predicate;
+                if (c == '#') {
+                    pos++;
+                    String id = identifier();
+                    predicate = id.isEmpty() ? null : "@id=" + xpathLiteral(id);
+                } else if (c == '.') {
+                    pos++;
+                    String className = identifier();
+                    predicate = className.isEmpty() ? null
+                            : "contains(concat(' ', normalize-space(@class), ' '), " + xpathLiteral(" " + className + " ") + ")";
+                } else if (c == '[') {
+                    pos++;
+                    predicate = attribute();
+                } else {
+                    break;
+                }
+                if (predicate == null) {
+                    return null;
+                }
+                predicates.append('[').append(predicate).append(']');
+            }
+            if (pos == start) {
+                return null;  // nothing parsed, e.g. a pseudo-class or sibling combinator
+            }
+            return tag + predicates;
+        }
+
+        private String attribute() {
+            skipWhitespace();
+            String name = identifier();
+            skipWhitespace();
+            if (name.isEmpty() || pos >= css.length()) {
+                return null;
+            }
+            if (css.charAt(pos) == ']') {
+                pos++;
+                return "@" + name;
+            }
+            String operator = null;
+            for (String candidate : new String[] {"=", "~=", "|=", "^=", "$=", "*="}) {
+                if (css.startsWith(candidate, pos)) {
+                    operator = candidate;
+                }
+            }
+            if (operator == null) {
+                return null;
+            }
+            pos += operator.length();
+            skipWhitespace();
+            String text = attributeValue();
+            skipWhitespace();
+            if (text == null || pos >= css.length() || css.charAt(pos) != ']') {
+                return null;  // includes the unsupported case-insensitivity flag
+            }
+            pos++;
+            String attr = "@" + name;
+            String literal = xpathLiteral(text);
+            switch (operator) {
+                case "=":
+                    return attr + "=" + literal;
+                case "~=":
+                    return "contains(concat(' ', normalize-space(" + attr + "), ' '), " + xpathLiteral(" " + text + " ") + ")";
+                case "|=":
+                    return attr + "=" + literal + " or starts-with(" + attr + ", " + xpathLiteral(text + "-") + ")";
+                case "^=":
+                    return "starts-with(" + attr + ", " + literal + ")";
+                case "$=":
+                    return "substring(" + attr + ", string-length(" + attr + ") - " + (text.length() - 1) + ")=" + literal;
+                default:
+                    return "contains(" + attr + ", " + literal + ")";
+            }
+        }
+
+        private String attributeValue() {
+            if (pos >= css.length()) {
+                return null;
+            }
+            char quote = css.charAt(pos);
+            if (quote != '"' && quote != '\'') {
+                String identifier = identifier();
+                return identifier.isEmpty() ? null : identifier;
+            }
+            StringBuilder text = new StringBuilder();
+            pos++;
+            while (pos < css.length() && css.charAt(pos) != quote) {
+                char c = css.charAt(pos++);
+                if (c == '\\' && pos < css.length()) {
+                    c = css.charAt(pos++);
+                }
+                text.append(c);
+            }
+            if (pos >= css.length()) {
+                return null;
+            }
+            pos++;
+            return text.toString();
+        }
+
+        private String identifier() {
+            int start = pos;
+            while (pos < css.length() && isIdentChar(css.charAt(pos))) {
+                pos++;
+            }
+            return css.substring(start, pos);
+        }
+
+        private boolean skipWhitespace() {
+            int start = pos;
+            while (pos < css.length() && Character.isWhitespace(css.charAt(pos))) {
+                pos++;
+            }
+            return pos > start;
+        }
+
+        private static boolean isIdentChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '-' || c == '_';
+        }
+    }
+}
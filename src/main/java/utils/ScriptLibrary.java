@@ -0,0 +1,92 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of large JavaScript helpers that avoids resending their full source on every call.
+ * Each script is installed as a function on {@code window.__sfwScripts}; calls then send only a short
+ * invocation with the arguments. When a navigation has cleared the function, the call returns a sentinel
+ * and one follow-up call installs and runs it, so the source crosses the wire once per page.
+ * One-liners are cheaper sent inline and do not belong here.
+ */
+public class ScriptLibrary {
+    private static final String MISSING = "__sfwScriptMissing__";
+    private static final Map<String, Script> scripts = new ConcurrentHashMap<>();
+
+    private final JavascriptExecutor js;
+
+    /**
+     * @param driver The session the scripts run in.
+     */
+    public ScriptLibrary(WebDriver driver) {
+        this.js = (JavascriptExecutor) driver;
+    }
+
+    /**
+     * Registers a script under a name. The source is a function body using arguments[n] and return,
+     * as for executeScript.
+     * @param name A unique identifier made of letters, digits and underscores.
+     * @param source The script source.
+     * @return The registered script, to pass to {@link #execute(Script, Object...)}.
+     */
+    public static Script define(String name, String source) {
+        if (!name.matches("\\w+")) {
+            throw new IllegalArgumentException("Script name must be letters, digits and underscores: " + name);
+        }
+        Script script = new Script(name, source);
+        Script existing = scripts.putIfAbsent(name, script);
+        if (existing != null && !existing.source.equals(source)) {
+            throw new IllegalStateException("A different script is already defined as '" + name + "'");
+        }
+        return existing != null ? existing : script;
+    }
+
+    /**
+     * Runs a registered script.
+     * @param script The script.
+     * @param args The script arguments.
+     * @return The script's return value, as from executeScript.
+     */
+    public Object execute(Script script, Object... args) {
+        Object result = js.executeScript(script.callScript, args);
+        if (MISSING.equals(result)) {
+            // First call on this page: install the function and run it in the same round trip
+            result = js.executeScript(script.installScript, args);
+        }
+        return result;
+    }
+
+    /**
+     * A named script with its precomputed invocation and installation wrappers.
+     */
+    public static final class Script {
+        private final String name;
+        private final String source;
+        private final String callScript;
+        private final String installScript;
+
+        private Script(String name, String source) {
+            this.name = name;
+            this.source = source;
+            String function = "window.__sfwScripts['" + name + "']";
+            this.callScript = "return window.__sfwScripts && " + function
+                    + " ? " + function + ".apply(null, arguments) : '" + MISSING + "';";
+            this.installScript = "window.__sfwScripts = window.__sfwScripts || {};"
+                    + function + " = function () {\n" + source + "\n};"
+                    + "return " + function + ".apply(null, arguments);";
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return "Script{" + name + "}";
+        }
+    }
+}
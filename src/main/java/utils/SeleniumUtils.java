@@ -3,84 +3,171 @@ package utils;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.NoSuchElementException;
+import commons.SessionRegistry;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 /**
  * Utility class for Selenium WebDriver operations with centralized exception handling.
  * Provides clear error messages and context for debugging test failures.
  */
 public class SeleniumUtils {
-    
+    private static final Logger logger = LogManager.getLogger(SeleniumUtils.class);
+
+    // Resolves the locator and reads the requested properties of a page of matches in one call.
+    // Arguments: strategy, value, properties, offset, limit, pre-located elements (fallback only).
+    private static final String EXTRACT_SCRIPT =
+            "var strategy = arguments[0], value = arguments[1], props = arguments[2];" +
+            "var offset = arguments[3], limit = arguments[4], nodes = arguments[5] || [];" +
+            "if (strategy === 'xpath') {" +
+            "  var found = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "  for (var n = 0; n < found.snapshotLength; n++) { nodes.push(found.snapshotItem(n)); }" +
+            "} else if (strategy === 'css') {" +
+            "  nodes = Array.prototype.slice.call(document.querySelectorAll(value));" +
+            "} else if (strategy === 'linkText' || strategy === 'partialLinkText') {" +
+            "  nodes = Array.prototype.filter.call(document.getElementsByTagName('a'), function (a) {" +
+            "    var text = (a.innerText || '').trim();" +
+            "    return strategy === 'linkText' ? text === value : text.indexOf(value) >= 0;" +
+            "  });" +
+            "}" +
+            "var end = limit > 0 ? Math.min(nodes.length, offset + limit) : nodes.length;" +
+            "var items = [];" +
+            "for (var i = offset; i < end; i++) {" +
+            "  var el = nodes[i], item = { index: i, attributes: {} };" +
+            "  for (var p = 0; p < props.length; p++) {" +
+            "    var prop = props[p];" +
+            "    if (prop === 'text') {" +
+            "      item.text = (el.innerText || el.textContent || '').trim();" +
+            "    } else if (prop === 'visible') {" +
+            "      var style = window.getComputedStyle(el);" +
+            "      item.visible = style.display !== 'none' && style.visibility !== 'hidden'" +
+            "          && parseFloat(style.opacity) > 0 && el.getClientRects().length > 0;" +
+            "    } else if (prop === 'rect') {" +
+            "      var box = el.getBoundingClientRect();" +
+            "      item.rect = { x: box.left + window.pageXOffset, y: box.top + window.pageYOffset," +
+            "          width: box.width, height: box.height };" +
+            "    } else {" +
+            "      item.attributes[prop] = el.getAttribute(prop);" +
+            "    }" +
+            "  }" +
+            "  items.push(item);" +
+            "}" +
+            "return { total: nodes.length, items: items };";
+    private static final ScriptLibrary.Script EXTRACT = ScriptLibrary.define("extractElements", EXTRACT_SCRIPT);
+
     private final WebDriver driver;
     private final WebDriverWait wait;
     private final Actions actions;
     private final JavascriptExecutor js;
+    private final SessionCircuitBreaker breaker;
+    private final ScriptLibrary scripts;
     
     public SeleniumUtils(WebDriver driver) {
         this.driver = driver;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
         this.actions = new Actions(driver);
         this.js = (JavascriptExecutor) driver;
+        this.breaker = SessionRegistry.getInstance().breakerFor(driver);
+        this.scripts = new ScriptLibrary(driver);
+    }
+
+    /**
+     * Fails immediately if the session has already died, instead of waiting out timeouts.
+     * @throws SessionUnavailableException if the session's circuit breaker is open
+     */
+    private void guard() {
+        breaker.checkClosed();
+    }
+
+    /**
+     * Records a failure with the session's circuit breaker and wraps it with context.
+     * @param message the action-specific error message
+     * @param cause the underlying failure
+     * @return the exception to throw
+     */
+    private SeleniumActionException failure(String message, Exception cause) {
+        if (cause instanceof SessionUnavailableException) {
+            return (SessionUnavailableException) cause;
+        }
+        breaker.recordFailure(cause);
+        return new SeleniumActionException(message, cause);
     }
     
     // Basic Element Interactions
     public void waitForElementVisible(By locator) {
+        guard();
         try {
             wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
         } catch (Exception e) {
-            throw new SeleniumActionException("Element not visible after waiting: " + locator, e);
+            throw failure("Element not visible after waiting: " + locator, e);
         }
     }
     
     public void waitForElementClickable(By locator) {
+        guard();
         try {
             wait.until(ExpectedConditions.elementToBeClickable(locator));
         } catch (Exception e) {
-            throw new SeleniumActionException("Element not clickable after waiting: " + locator, e);
+            throw failure("Element not clickable after waiting: " + locator, e);
         }
     }
     
     public void click(By locator) {
+        guard();
         try {
             waitForElementClickable(locator);
             driver.findElement(locator).click();
         } catch (Exception e) {
-            throw new SeleniumActionException("Failed to click element: " + locator, e);
+            throw failure("Failed to click element: " + locator, e);
         }
     }
     
     public void sendKeys(By locator, String text) {
+        guard();
         try {
             waitForElementVisible(locator);
             driver.findElement(locator).sendKeys(text);
         } catch (Exception e) {
-            throw new SeleniumActionException("Failed to send keys '" + text + "' to element: " + locator, e);
+            throw failure("Failed to send keys '" + text + "' to element: " + locator, e);
         }
     }
     
     public void clearAndSendKeys(By locator, String text) {
+        guard();
         try {
             waitForElementVisible(locator);
             WebElement element = driver.findElement(locator);
             element.clear();
             element.sendKeys(text);
         } catch (Exception e) {
-            throw new SeleniumActionException("Failed to clear and send keys '" + text + "' to element: " + locator, e);
+            throw failure("Failed to clear and send keys '" + text + "' to element: " + locator, e);
         }
     }
     
     public String getText(By locator) {
+        guard();
         try {
             waitForElementVisible(locator);
             return driver.findElement(locator).getText();
         } catch (Exception e) {
-            throw new SeleniumActionException("Failed to get text from element: " + locator, e);
+            throw failure("Failed to get text from element: " + locator, e);
         }
     }
     
@@ -92,6 +179,7 @@ public class SeleniumUtils {
      * @throws SeleniumActionException for unexpected errors
      */
     public boolean isElementDisplayed(By locator) {
+        guard();
         try {
             waitForElementVisible(locator);
             return driver.findElement(locator).isDisplayed();
@@ -100,82 +188,187 @@ public class SeleniumUtils {
             return false;
         } catch (Exception e) {
             // Unexpected error - fail fast with context
-            throw new SeleniumActionException("Error checking visibility of: " + locator, e);
+            throw failure("Error checking visibility of: " + locator, e);
         }
     }
 
     // Advanced Element Interactions
     public void selectByVisibleText(By locator, String text) {
+        guard();
         try {
             waitForElementVisible(locator);
             WebElement element = driver.findElement(locator);
             org.openqa.selenium.support.ui.Select select = new org.openqa.selenium.support.ui.Select(element);
             select.selectByVisibleText(text);
         } catch (Exception e) {
-            throw new SeleniumActionException("Failed to select option '" + text + "' from dropdown: " + locator, e);
+            throw failure("Failed to select option '" + text + "' from dropdown: " + locator, e);
         }
     }
 
     public void selectByValue(By locator, String value) {
+        guard();
         try {
             waitForElementVisible(locator);
             WebElement element = driver.findElement(locator);
             org.openqa.selenium.support.ui.Select select = new org.openqa.selenium.support.ui.Select(element);
             select.selectByValue(value);
         } catch (Exception e) {
-            throw new SeleniumActionException("Failed to select option with value '" + value + "' from dropdown: " + locator, e);
+            throw failure("Failed to select option with value '" + value + "' from dropdown: " + locator, e);
         }
     }
 
     // List Operations
     public List<WebElement> findElements(By locator) {
+        guard();
         try {
             waitForElementVisible(locator);
             return driver.findElements(locator);
         } catch (Exception e) {
-            throw new SeleniumActionException("Failed to find elements: " + locator, e);
+            throw failure("Failed to find elements: " + locator, e);
+        }
+    }
+
+    /**
+     * Reads the given properties of every element matching the locator in a single script call.
+     * Properties are {@link ElementData#TEXT}, {@link ElementData#VISIBLE}, {@link ElementData#RECT}
+     * or any attribute name.
+     * @param locator the element locator
+     * @param properties the properties to read
+     * @return one ElementData per match, in document order
+     */
+    public List<ElementData> extractElements(By locator, List<String> properties) {
+        guard();
+        try {
+            waitForElementVisible(locator);
+            return extractPage(locator, LocatorSpec.from(locator), null, properties, 0, 0);
+        } catch (Exception e) {
+            throw failure("Failed to extract data from elements: " + locator, e);
         }
     }
 
+    /**
+     * Lazily pages through the elements matching the locator, reading pageSize elements per script call.
+     * Intended for very large lists where a single extraction would produce an oversized response.
+     * @param locator the element locator
+     * @param properties the properties to read
+     * @param pageSize the number of elements fetched per round trip
+     * @return a sequential stream of ElementData, in document order
+     */
+    public Stream<ElementData> streamElements(By locator, List<String> properties, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        guard();
+        try {
+            waitForElementVisible(locator);
+        } catch (Exception e) {
+            throw failure("Failed to extract data from elements: " + locator, e);
+        }
+        LocatorSpec spec = LocatorSpec.from(locator);
+        // Custom locators cannot be resolved in the script, so they are located once up front
+        List<WebElement> located = spec == null ? driver.findElements(locator) : null;
+
+        Iterator<ElementData> pages = new Iterator<ElementData>() {
+            private Iterator<ElementData> current = Collections.emptyIterator();
+            private int offset = 0;
+            private boolean exhausted = false;
+
+            @Override
+            public boolean hasNext() {
+                if (!current.hasNext() && !exhausted) {
+                    guard();
+                    List<ElementData> page;
+                    try {
+                        page = extractPage(locator, spec, located, properties, offset, pageSize);
+                    } catch (Exception e) {
+                        throw failure("Failed to extract data from elements: " + locator, e);
+                    }
+                    offset += page.size();
+                    exhausted = page.size() < pageSize;
+                    current = page.iterator();
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public ElementData next() {
+                if (!hasNext()) {
+                    throw new java.util.NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ElementData> extractPage(By locator, LocatorSpec spec, List<WebElement> located,
+                                          List<String> properties, int offset, int limit) {
+        Object[] args;
+        if (spec != null) {
+            args = new Object[] {spec.getStrategy(), spec.getValue(), properties, offset, limit, null};
+        } else {
+            List<WebElement> elements = located != null ? located : driver.findElements(locator);
+            int end = limit > 0 ? Math.min(elements.size(), offset + limit) : elements.size();
+            List<WebElement> slice = offset < end ? elements.subList(offset, end) : Collections.emptyList();
+            // The slice already starts at 'offset', so the script reads it from index 0
+            args = new Object[] {"elements", null, properties, 0, 0, new ArrayList<>(slice)};
+        }
+
+        Map<String, Object> result = (Map<String, Object>) scripts.execute(EXTRACT, args);
+        List<Map<String, Object>> items = (List<Map<String, Object>>) result.get("items");
+        List<ElementData> data = new ArrayList<>(items.size());
+        for (Map<String, Object> item : items) {
+            ElementData element = ElementData.fromScriptResult(item);
+            data.add(spec != null ? element : element.withIndex(element.getIndex() + offset));
+        }
+        return data;
+    }
+
     public int getElementCount(By locator) {
+        guard();
         try {
             return driver.findElements(locator).size();
         } catch (Exception e) {
-            throw new SeleniumActionException("Failed to get element count for: " + locator, e);
+            throw failure("Failed to get element count for: " + locator, e);
         }
     }
 
     // JavaScript Operations
     public void scrollToElement(By locator) {
+        guard();
         try {
             WebElement element = driver.findElement(locator);
             js.executeScript("arguments[0].scrollIntoView(true);", element);
         } catch (Exception e) {
-            throw new SeleniumActionException("Failed to scroll to element: " + locator, e);
+            throw failure("Failed to scroll to element: " + locator, e);
         }
     }
 
     public void clickByJS(By locator) {
+        guard();
         try {
             WebElement element = driver.findElement(locator);
             js.executeScript("arguments[0].click();", element);
         } catch (Exception e) {
-            throw new SeleniumActionException("Failed to click element using JavaScript: " + locator, e);
+            throw failure("Failed to click element using JavaScript: " + locator, e);
         }
     }
 
     // Actions Operations
     public void hover(By locator) {
+        guard();
         try {
             waitForElementVisible(locator);
             WebElement element = driver.findElement(locator);
             actions.moveToElement(element).perform();
         } catch (Exception e) {
-            throw new SeleniumActionException("Failed to hover over element: " + locator, e);
+            throw failure("Failed to hover over element: " + locator, e);
         }
     }
 
     public void dragAndDrop(By source, By target) {
+        guard();
         try {
             waitForElementVisible(source);
             waitForElementVisible(target);
@@ -183,104 +376,192 @@ public class SeleniumUtils {
             WebElement targetElement = driver.findElement(target);
             actions.dragAndDrop(sourceElement, targetElement).perform();
         } catch (Exception e) {
-            throw new SeleniumActionException("Failed to drag element " + source + " to " + target, e);
+            throw failure("Failed to drag element " + source + " to " + target, e);
         }
     }
 
     // Wait Operations
     public void waitForElementToDisappear(By locator) {
+        guard();
         try {
             wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
         } catch (Exception e) {
-            throw new SeleniumActionException("Element did not disappear after waiting: " + locator, e);
+            throw failure("Element did not disappear after waiting: " + locator, e);
         }
     }
 
     public void waitForTextToBePresent(By locator, String text) {
+        guard();
         try {
             wait.until(ExpectedConditions.textToBePresentInElementLocated(locator, text));
         } catch (Exception e) {
-            throw new SeleniumActionException("Text '" + text + "' not found in element after waiting: " + locator, e);
+            throw failure("Text '" + text + "' not found in element after waiting: " + locator, e);
         }
     }
 
     // Navigation
     public void navigateTo(String url) {
+        guard();
         try {
             driver.get(url);
         } catch (Exception e) {
-            throw new SeleniumActionException("Failed to navigate to URL: " + url, e);
+            throw failure("Failed to navigate to URL: " + url, e);
         }
     }
 
     public void refreshPage() {
+        guard();
         try {
             driver.navigate().refresh();
         } catch (Exception e) {
-            throw new SeleniumActionException("Failed to refresh page", e);
+            throw failure("Failed to refresh page", e);
         }
     }
 
     public void goBack() {
+        guard();
         try {
             driver.navigate().back();
         } catch (Exception e) {
-            throw new SeleniumActionException("Failed to go back", e);
+            throw failure("Failed to go back", e);
         }
     }
 
     public void goForward() {
+        guard();
         try {
             driver.navigate().forward();
         } catch (Exception e) {
-            throw new SeleniumActionException("Failed to go forward", e);
+            throw failure("Failed to go forward", e);
         }
     }
 
     // Window Operations
     public void switchToFrame(By locator) {
+        guard();
         try {
             waitForElementVisible(locator);
             WebElement frame = driver.findElement(locator);
             driver.switchTo().frame(frame);
         } catch (Exception e) {
-            throw new SeleniumActionException("Failed to switch to frame: " + locator, e);
+            throw failure("Failed to switch to frame: " + locator, e);
         }
     }
 
     public void switchToDefaultContent() {
+        guard();
         try {
             driver.switchTo().defaultContent();
         } catch (Exception e) {
-            throw new SeleniumActionException("Failed to switch to default content", e);
+            throw failure("Failed to switch to default content", e);
+        }
+    }
+
+    /**
+     * Opens one new tab per URL and starts loading them all without waiting, so the page loads
+     * overlap inside the one browser. Focus returns to the current window afterwards.
+     * @param urls the pages to load
+     * @return the window handles of the new tabs, in the order of the URLs
+     */
+    public List<String> openInTabs(List<String> urls) {
+        guard();
+        List<String> handles = new ArrayList<>();
+        String origin = null;
+        try {
+            origin = driver.getWindowHandle();
+            for (String url : urls) {
+                driver.switchTo().newWindow(WindowType.TAB);
+                handles.add(driver.getWindowHandle());
+                // Assigning location returns immediately, unlike get(), which waits for the page load
+                js.executeScript("window.location.href = arguments[0];", url);
+            }
+            driver.switchTo().window(origin);
+            return handles;
+        } catch (Exception e) {
+            closeQuietly(handles, origin);
+            throw failure("Failed to open tabs for: " + urls, e);
+        }
+    }
+
+    /**
+     * Best-effort cleanup of tabs opened before a failure, so they do not leak into later steps.
+     */
+    private void closeQuietly(List<String> handles, String returnTo) {
+        for (String handle : handles) {
+            try {
+                driver.switchTo().window(handle).close();
+            } catch (Exception e) {
+                logger.debug("Failed to close tab {}: {}", handle, e.getMessage());
+            }
+        }
+        if (returnTo != null) {
+            try {
+                driver.switchTo().window(returnTo);
+            } catch (Exception e) {
+                logger.debug("Failed to return to window {}: {}", returnTo, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Switches to a window or tab and waits until its page has finished loading.
+     * @param handle the window handle
+     */
+    public void switchToLoadedWindow(String handle) {
+        guard();
+        try {
+            driver.switchTo().window(handle);
+            // A new tab reports 'complete' for about:blank until its navigation commits
+            wait.until(d -> Boolean.TRUE.equals(js.executeScript(
+                    "return document.readyState === 'complete' && window.location.href !== 'about:blank';")));
+        } catch (Exception e) {
+            throw failure("Page in window " + handle + " did not finish loading", e);
+        }
+    }
+
+    /**
+     * Closes a window or tab and switches to another one.
+     * @param handle the window to close
+     * @param returnTo the window to continue in
+     */
+    public void closeWindow(String handle, String returnTo) {
+        guard();
+        try {
+            driver.switchTo().window(handle).close();
+            driver.switchTo().window(returnTo);
+        } catch (Exception e) {
+            throw failure("Failed to close window " + handle, e);
         }
     }
 
     // Alert Operations
     public void acceptAlert() {
+        guard();
         try {
             wait.until(ExpectedConditions.alertIsPresent());
             driver.switchTo().alert().accept();
         } catch (Exception e) {
-            throw new SeleniumActionException("Failed to accept alert", e);
+            throw failure("Failed to accept alert", e);
         }
     }
 
     public void dismissAlert() {
+        guard();
         try {
             wait.until(ExpectedConditions.alertIsPresent());
             driver.switchTo().alert().dismiss();
         } catch (Exception e) {
-            throw new SeleniumActionException("Failed to dismiss alert", e);
+            throw failure("Failed to dismiss alert", e);
         }
     }
 
     public String getAlertText() {
+        guard();
         try {
             wait.until(ExpectedConditions.alertIsPresent());
             return driver.switchTo().alert().getText();
         } catch (Exception e) {
-            throw new SeleniumActionException("Failed to get alert text", e);
+            throw failure("Failed to get alert text", e);
         }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,152 @@
+package utils;
+
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+import java.net.ConnectException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Circuit breaker for a single browser session.
+ * The first fatal error (dead session, unreachable browser) opens the breaker, after which
+ * every guarded call fails in microseconds instead of waiting for remote timeouts.
+ */
+public class SessionCircuitBreaker {
+    private static final Logger logger = LogManager.getLogger(SessionCircuitBreaker.class);
+    private static final int MAX_CAUSE_DEPTH = 10;
+    // Messages the grid and drivers use for sessions that are gone for good
+    private static final String[] GONE_MESSAGES = {
+            "invalid session id",
+            "session timed out",
+            "session not found",
+            "session deleted"
+    };
+    // Messages for failures that are fatal to the run but may leave the session itself alive
+    private static final String[] FATAL_MESSAGES = {
+            "chrome not reachable",
+            "browser has closed the connection",
+            "connection refused"
+    };
+
+    private final String sessionId;
+    private final List<Consumer<Throwable>> tripListeners = new CopyOnWriteArrayList<>();
+    private volatile Throwable fatalError;
+
+    public SessionCircuitBreaker(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    /**
+     * Fails fast if the breaker is open.
+     * @throws SessionUnavailableException if the session has already failed fatally
+     */
+    public void checkClosed() {
+        Throwable cause = fatalError;
+        if (cause != null) {
+            throw new SessionUnavailableException("Browser session " + sessionId + " is no longer available", cause);
+        }
+    }
+
+    /**
+     * Inspects a failure and opens the breaker if it indicates the session is dead.
+     * @param error the failure raised by a WebDriver call
+     * @return true if the error was fatal
+     */
+    public boolean recordFailure(Throwable error) {
+        if (!isFatal(error)) {
+            return false;
+        }
+        if (fatalError == null) {
+            fatalError = error;
+            logger.error("Browser session {} failed fatally, failing fast from now on: {}", sessionId, rootMessage(error));
+            tripListeners.forEach(listener -> listener.accept(error));
+        }
+        return true;
+    }
+
+    /**
+     * Registers a callback invoked once when the breaker opens.
+     * @param listener receives the fatal error
+     */
+    public void onTrip(Consumer<Throwable> listener) {
+        tripListeners.add(listener);
+    }
+
+    public boolean isOpen() {
+        return fatalError != null;
+    }
+
+    /**
+     * Tells whether the breaker opened because the grid or driver confirmed the session no longer exists,
+     * as opposed to a transport failure after which the session may still be running.
+     * @return true if there is no session left to quit
+     */
+    public boolean isSessionGone() {
+        Throwable cause = fatalError;
+        return cause != null && isSessionGone(cause);
+    }
+
+    /**
+     * Checks whether an error means the session can never recover.
+     * @param error the error to classify
+     * @return true for dead sessions and unreachable browsers or grids
+     */
+    public static boolean isFatal(Throwable error) {
+        return matches(error, true);
+    }
+
+    /**
+     * Checks whether an error confirms the session has ended on the grid or driver.
+     * @param error the error to classify
+     * @return true for NoSuchSessionException and the equivalent error messages
+     */
+    public static boolean isSessionGone(Throwable error) {
+        return matches(error, false);
+    }
+
+    private static boolean matches(Throwable error, boolean includeTransportFailures) {
+        Throwable current = error;
+        for (int depth = 0; current != null && depth < MAX_CAUSE_DEPTH; depth++) {
+            if (current instanceof NoSuchSessionException) {
+                return true;
+            }
+            if (includeTransportFailures
+                    && (current instanceof UnreachableBrowserException || current instanceof ConnectException)) {
+                return true;
+            }
+            String message = current.getMessage();
+            if (message != null) {
+                String lower = message.toLowerCase(Locale.ROOT);
+                if (containsAny(lower, GONE_MESSAGES) || (includeTransportFailures && containsAny(lower, FATAL_MESSAGES))) {
+                    return true;
+                }
+            }
+            current = current.getCause();
+        }
+        return false;
+    }
+
+    private static boolean containsAny(String message, String[] fragments) {
+        for (String fragment : fragments) {
+            if (message.contains(fragment)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String rootMessage(Throwable error) {
+        Throwable root = error;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        String message = root.getMessage();
+        return root.getClass().getSimpleName() + (message == null ? "" : ": " + message.split("\n")[0]);
+    }
+}
@@ -0,0 +1,17 @@
+package utils;
+
+/**
+ * Thrown without contacting the browser when its session is already known to be dead.
+ * Lets the remaining steps of a scenario fail immediately instead of waiting out timeouts.
+ */
+public class SessionUnavailableException extends SeleniumActionException {
+
+    /**
+     * Constructs a new SessionUnavailableException with the specified detail message and cause.
+     * @param message the detail message
+     * @param cause the fatal error that ended the session
+     */
+    public SessionUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,12 +1,22 @@
 package data;
 
 import org.apache.poi.ss.usermodel.*;
+
+import java.io.File;
 import java.io.FileInputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class TestDataProvider {
-    private static final String EXCEL_PATH = "src/test/resources/testdata/testdata.xlsx";
+    private static final String EXCEL_PATH = "src/test/resources/testdata/TestData.xlsx";
     private static final String SHEET_NAME = "Sheet1";
 
+    private static final ReentrantLock loadLock = new ReentrantLock();
+    private static volatile SheetData cache;
+
     /**
      * Gets username from the specified row.
      * @param rowIndex The row index (1-based).
@@ -42,22 +52,74 @@ public class TestDataProvider {
     }
 
     private static String getCellData(int rowIndex, String columnName) {
-        try (FileInputStream fis = new FileInputStream(EXCEL_PATH);
+        SheetData data = loadSheet();
+        Integer colNum = data.columns.get(columnName.trim().toLowerCase());
+        if (colNum == null) throw new RuntimeException("Column not found: " + columnName);
+        return data.rows.get(rowIndex).get(colNum);
+    }
+
+    /**
+     * Returns the sheet contents, reading the workbook only when it is first needed or has changed on disk.
+     * Keeps POI out of the per-step path, which matters most in a long-lived test daemon.
+     */
+    private static SheetData loadSheet() {
+        File file = new File(EXCEL_PATH);
+        long lastModified = file.lastModified();
+        SheetData data = cache;
+        if (data != null && data.lastModified == lastModified) {
+            return data;
+        }
+        // Not synchronized: file I/O inside a monitor would pin virtual threads to their carrier
+        loadLock.lock();
+        try {
+            if (cache == null || cache.lastModified != lastModified) {
+                cache = readSheet(file, lastModified);
+            }
+            return cache;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private static SheetData readSheet(File file, long lastModified) {
+        try (FileInputStream fis = new FileInputStream(file);
              Workbook workbook = WorkbookFactory.create(fis)) {
             Sheet sheet = workbook.getSheet(SHEET_NAME);
-            Row headerRow = sheet.getRow(0);
-            int colNum = -1;
-            for (Cell cell : headerRow) {
-                if (cell.getStringCellValue().trim().equalsIgnoreCase(columnName)) {
-                    colNum = cell.getColumnIndex();
-                    break;
+            DataFormatter formatter = new DataFormatter();
+            Map<String, Integer> columns = new HashMap<>();
+            for (Cell cell : sheet.getRow(0)) {
+                columns.putIfAbsent(cell.getStringCellValue().trim().toLowerCase(), cell.getColumnIndex());
+            }
+            List<List<String>> rows = new ArrayList<>();
+            for (int rowIndex = 0; rowIndex <= sheet.getLastRowNum(); rowIndex++) {
+                Row row = sheet.getRow(rowIndex);
+                List<String> values = new ArrayList<>();
+                if (row != null) {
+                    for (int colNum = 0; colNum < row.getLastCellNum(); colNum++) {
+                        Cell cell = row.getCell(colNum);
+                        values.add(cell == null ? null : formatter.formatCellValue(cell));
+                    }
                 }
+                rows.add(values);
             }
-            if (colNum == -1) throw new RuntimeException("Column not found: " + columnName);
-            Row dataRow = sheet.getRow(rowIndex);
-            return dataRow.getCell(colNum).getStringCellValue();
+            return new SheetData(lastModified, columns, rows);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Immutable snapshot of the data sheet: header names (lower case) to column index, plus every row's values.
+     */
+    private static class SheetData {
+        private final long lastModified;
+        private final Map<String, Integer> columns;
+        private final List<List<String>> rows;
+
+        SheetData(long lastModified, Map<String, Integer> columns, List<List<String>> rows) {
+            this.lastModified = lastModified;
+            this.columns = columns;
+            this.rows = rows;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package load;
+
+import java.io.PrintWriter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with HdrHistogram-style log-linear buckets.
+ * Values are recorded in microseconds with a relative error below 2% at any magnitude, in a fixed
+ * footprint of a few kilobytes, so every sample can be counted instead of a sampled subset.
+ */
+public class LatencyHistogram {
+    // Each power of two above 2^7 is split into 64 linear sub-buckets, i.e. a bucket width of at most 1/64 of the value
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_HALF = 1 << (SUB_BUCKET_BITS - 1);
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_HALF + 2 * SUB_BUCKET_HALF;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalValue = new LongAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(0);
+
+    /**
+     * Records one sample.
+     * @param micros The latency in microseconds.
+     */
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+        counts.incrementAndGet(indexOf(value));
+        totalCount.increment();
+        totalValue.add(value);
+        min.accumulateAndGet(value, Math::min);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    public long getMin() {
+        return getCount() == 0 ? 0 : min.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) totalValue.sum() / count;
+    }
+
+    /**
+     * Returns the value at or below which the given percentage of samples fall.
+     * @param percentile The percentile, 0 to 100.
+     * @return The latency in microseconds, as the upper bound of its bucket (capped at the maximum).
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count));
+        long cumulative = 0;
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            cumulative += counts.get(index);
+            if (cumulative >= target) {
+                return Math.min(highestValueOf(index), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Writes the percentile distribution in HdrHistogram's text format, which its online plotter reads.
+     * @param out Where to write.
+     * @param unitScale Divisor applied to the microsecond values, e.g. 1000.0 for milliseconds.
+     */
+    public void writePercentileDistribution(PrintWriter out, double unitScale) {
+        long count = getCount();
+        out.printf("%12s %14s %10s %14s%n%n", "Value", "Percentile", "TotalCount", "1/(1-Percentile)");
+        long cumulative = 0;
+        for (int index = 0; index < BUCKET_COUNT && cumulative < count; index++) {
+            long bucketCount = counts.get(index);
+            if (bucketCount == 0) {
+                continue;
+            }
+            cumulative += bucketCount;
+            double percentile = (double) cumulative / count;
+            String inverse = percentile < 1.0 ? String.format("%14.2f", 1 / (1 - percentile)) : "";
+            out.printf("%12.3f %2.12f %10d %s%n",
+                    Math.min(highestValueOf(index), getMax()) / unitScale, percentile, cumulative, inverse);
+        }
+        out.printf("#[Mean    = %12.3f, Min            = %12.3f]%n", getMean() / unitScale, getMin() / unitScale);
+        out.printf("#[Max     = %12.3f, Total count    = %12d]%n", getMax() / unitScale, count);
+        out.printf("#[Buckets = %12d, SubBuckets     = %12d]%n", 64 - SUB_BUCKET_BITS, 2 * SUB_BUCKET_HALF);
+        out.flush();
+    }
+
+    /**
+     * Maps a value to its bucket: exact below 2^SUB_BUCKET_BITS, then SUB_BUCKET_HALF linear
+     * sub-buckets for every further power of two.
+     */
+    static int indexOf(long value) {
+        int shift = Math.max(0, 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        int subBucket = (int) (value >>> shift);
+        return shift * SUB_BUCKET_HALF + subBucket;
+    }
+
+    static long highestValueOf(int index) {
+        if (index < 2 * SUB_BUCKET_HALF) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_HALF - 1;
+        long subBucket = index - (long) shift * SUB_BUCKET_HALF;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
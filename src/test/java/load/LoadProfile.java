@@ -0,0 +1,117 @@
+package load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Time profile for the number of concurrent virtual users, made of linear ramp stages.
+ * Written as comma-separated "duration:users" stages, e.g. "30s:10,2m:10,30s:0" ramps up to
+ * 10 users over 30 seconds, holds them for 2 minutes and ramps down over 30 seconds.
+ */
+public class LoadProfile {
+    private final List<Stage> stages;
+
+    private LoadProfile(List<Stage> stages) {
+        this.stages = Collections.unmodifiableList(stages);
+    }
+
+    /**
+     * Parses a profile. Durations take an s, m or h suffix.
+     * @param profile The profile, e.g. "30s:10,2m:10,30s:0".
+     * @return The LoadProfile.
+     * @throws IllegalArgumentException if a stage is malformed.
+     */
+    public static LoadProfile parse(String profile) {
+        List<Stage> stages = new ArrayList<>();
+        for (String stage : profile.split(",")) {
+            String[] parts = stage.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected 'duration:users' but got '" + stage + "'");
+            }
+            int users = Integer.parseInt(parts[1].trim());
+            if (users < 0) {
+                throw new IllegalArgumentException("User count must not be negative: " + stage);
+            }
+            stages.add(new Stage(parseDuration(parts[0].trim()), users));
+        }
+        if (stages.isEmpty()) {
+            throw new IllegalArgumentException("Load profile has no stages");
+        }
+        return new LoadProfile(stages);
+    }
+
+    /**
+     * Computes the target number of users at a point in the run, interpolating within the current stage.
+     * The run starts from zero users.
+     * @param elapsed Time since the start of the run.
+     * @return The target user count, or 0 once the profile has ended.
+     */
+    public int usersAt(Duration elapsed) {
+        long remaining = elapsed.toMillis();
+        int startUsers = 0;
+        for (Stage stage : stages) {
+            long stageMillis = stage.duration.toMillis();
+            if (remaining < stageMillis) {
+                double progress = (double) remaining / stageMillis;
+                return (int) Math.round(startUsers + (stage.users - startUsers) * progress);
+            }
+            remaining -= stageMillis;
+            startUsers = stage.users;
+        }
+        return 0;
+    }
+
+    /**
+     * @return The total length of the profile.
+     */
+    public Duration getTotalDuration() {
+        return stages.stream().map(stage -> stage.duration).reduce(Duration.ZERO, Duration::plus);
+    }
+
+    /**
+     * @return The highest user count reached at any point.
+     */
+    public int getPeakUsers() {
+        return stages.stream().mapToInt(stage -> stage.users).max().orElse(0);
+    }
+
+    private static Duration parseDuration(String value) {
+        char unit = value.charAt(value.length() - 1);
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        switch (unit) {
+            case 's':
+                return Duration.ofSeconds(amount);
+            case 'm':
+                return Duration.ofMinutes(amount);
+            case 'h':
+                return Duration.ofHours(amount);
+            default:
+                throw new IllegalArgumentException("Duration needs an s, m or h suffix: " + value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LoadProfile" + stages;
+    }
+
+    private static class Stage {
+        private final Duration duration;
+        private final int users;
+
+        Stage(Duration duration, int users) {
+            if (duration.isZero() || duration.isNegative()) {
+                throw new IllegalArgumentException("Stage duration must be positive");
+            }
+            this.duration = duration;
+            this.users = users;
+        }
+
+        @Override
+        public String toString() {
+            return duration.getSeconds() + "s:" + users;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package load;
+
+import actions.RegisterActions;
+import commons.DriverManager;
+import commons.ScenarioContext;
+import commons.ScenarioExecutor;
+import utils.SessionUnavailableException;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Puts browser-level load on the application by running an existing flow as concurrent virtual users.
+ * Users are added and removed to follow a {@link LoadProfile}; each drives its own session from the
+ * {@link ScenarioExecutor}, and every step's latency is recorded in a {@link LatencyHistogram}.
+ *
+ * Settings (system properties):
+ * <ul>
+ *   <li>load.profile - ramp stages, default "30s:5,1m:5,15s:0"</li>
+ *   <li>load.scenario - the flow to run, default "register"</li>
+ *   <li>load.reportDir - where the .hgrm files go, default "target/load-report"</li>
+ * </ul>
+ * Combine with -DexecutionMode=local for headless local browsers.
+ */
+public class LoadRunner {
+    private static final Logger logger = LogManager.getLogger(LoadRunner.class);
+    private static final String ITERATION = "iteration";
+    private static final double[] REPORTED_PERCENTILES = {50, 90, 95, 99, 99.9};
+
+    private static final Map<String, LoadScenario> SCENARIOS = new LinkedHashMap<>();
+
+    static {
+        SCENARIOS.put("register", LoadRunner::registerScenario);
+    }
+
+    private final LoadProfile profile;
+    private final LoadScenario scenario;
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final AtomicInteger targetUsers = new AtomicInteger();
+    private volatile boolean finished;
+
+    /**
+     * A flow run repeatedly by each virtual user.
+     */
+    @FunctionalInterface
+    public interface LoadScenario {
+        /**
+         * Runs one iteration.
+         * @param context The virtual user's session.
+         * @param steps Records the latency of each named step.
+         * @param user The virtual user number.
+         * @param iteration The iteration number for this user.
+         */
+        void run(ScenarioContext context, StepTimer steps, int user, int iteration);
+    }
+
+    /**
+     * Times the steps of one iteration.
+     */
+    public final class StepTimer {
+        /**
+         * Runs and times a step; failures are counted against the step and rethrown.
+         * @param name The step name used in the report.
+         * @param step The step.
+         */
+        public void step(String name, Runnable step) {
+            long start = System.nanoTime();
+            try {
+                step.run();
+            } catch (RuntimeException | AssertionError e) {
+                errors.computeIfAbsent(name, key -> new LongAdder()).increment();
+                throw e;
+            }
+            latencies.computeIfAbsent(name, key -> new LatencyHistogram())
+                    .record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        }
+    }
+
+    public LoadRunner(LoadProfile profile, LoadScenario scenario) {
+        this.profile = profile;
+        this.scenario = scenario;
+    }
+
+    public static void main(String[] args) throws IOException {
+        LoadProfile profile = LoadProfile.parse(System.getProperty("load.profile", "30s:5,1m:5,15s:0"));
+        String scenarioName = System.getProperty("load.scenario", "register");
+        LoadScenario scenario = SCENARIOS.get(scenarioName);
+        if (scenario == null) {
+            throw new IllegalArgumentException("Unknown load scenario '" + scenarioName + "', expected one of " + SCENARIOS.keySet());
+        }
+
+        try {
+            LoadRunner runner = new LoadRunner(profile, scenario);
+            Duration elapsed = runner.run();
+            runner.report(scenarioName, elapsed, Paths.get(System.getProperty("load.reportDir", "target/load-report")));
+        } finally {
+            DriverManager.shutdown();
+        }
+    }
+
+    /**
+     * Runs the profile to completion.
+     * @return The actual run time.
+     */
+    public Duration run() {
+        // Users that ramp down park their session, so users that ramp up again skip session creation
+        DriverManager.requireWarmSessions(profile.getPeakUsers());
+
+        logger.info("Starting load run: {} (peak {} users, {}s)", profile, profile.getPeakUsers(),
+                profile.getTotalDuration().getSeconds());
+        List<CompletableFuture<Void>> users = new ArrayList<>();
+        long start = System.nanoTime();
+        try (ScenarioExecutor executor = new ScenarioExecutor(Math.max(1, profile.getPeakUsers()))) {
+            Duration elapsed;
+            while ((elapsed = Duration.ofNanos(System.nanoTime() - start)).compareTo(profile.getTotalDuration()) < 0) {
+                int target = profile.usersAt(elapsed);
+                targetUsers.set(target);
+                // User n runs while the target is above n, so scaling down stops the newest users first.
+                // Users below the target that have stopped, e.g. after losing their session, are restarted
+                // so the actual concurrency keeps following the profile.
+                for (int user = 0; user < target; user++) {
+                    if (user == users.size()) {
+                        users.add(startUser(executor, user));
+                    } else if (users.get(user).isDone()) {
+                        users.set(user, startUser(executor, user));
+                    }
+                }
+                sleep(Duration.ofMillis(250));
+            }
+            targetUsers.set(0);
+            finished = true;
+        }
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    private CompletableFuture<Void> startUser(ScenarioExecutor executor, int user) {
+        return executor.submit("load-user-" + user, context -> {
+            StepTimer steps = new StepTimer();
+            int iteration = 0;
+            while (!finished && user < targetUsers.get()) {
+                int current = iteration++;
+                long start = System.nanoTime();
+                try {
+                    scenario.run(context, steps, user, current);
+                    latencies.computeIfAbsent(ITERATION, key -> new LatencyHistogram())
+                            .record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+                } catch (SessionUnavailableException e) {
+                    logger.warn("Virtual user {} lost its session: {}", user, e.getMessage());
+                    errors.computeIfAbsent(ITERATION, key -> new LongAdder()).increment();
+                    return;
+                } catch (RuntimeException | AssertionError e) {
+                    logger.debug("Virtual user {} iteration {} failed: {}", user, current, e.getMessage());
+                    errors.computeIfAbsent(ITERATION, key -> new LongAdder()).increment();
+                }
+            }
+        }).exceptionally(e -> {
+            logger.warn("Virtual user {} could not start: {}", user, e.getMessage());
+            errors.computeIfAbsent("session", key -> new LongAdder()).increment();
+            return null;
+        });
+    }
+
+    /**
+     * Logs per-step throughput and latency percentiles and writes one HdrHistogram-format file per step.
+     * @param scenarioName The scenario name, used in file names.
+     * @param elapsed The run time, for throughput.
+     * @param reportDir The output directory.
+     */
+    public void report(String scenarioName, Duration elapsed, Path reportDir) throws IOException {
+        Files.createDirectories(reportDir);
+        double seconds = Math.max(1, elapsed.toMillis()) / 1000.0;
+        StringBuilder table = new StringBuilder(String.format("%n%-22s %8s %7s %8s", "step", "count", "errors", "per sec"));
+        for (double percentile : REPORTED_PERCENTILES) {
+            table.append(String.format(" %8s", "p" + percentile));
+        }
+        table.append(String.format(" %8s   (latencies in ms)", "max"));
+
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(latencies).entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            long errorCount = errors.getOrDefault(entry.getKey(), new LongAdder()).sum();
+            table.append(String.format("%n%-22s %8d %7d %8.2f", entry.getKey(), histogram.getCount(), errorCount,
+                    histogram.getCount() / seconds));
+            for (double percentile : REPORTED_PERCENTILES) {
+                table.append(String.format(" %8.1f", histogram.getValueAtPercentile(percentile) / 1000.0));
+            }
+            table.append(String.format(" %8.1f", histogram.getMax() / 1000.0));
+
+            Path file = reportDir.resolve(scenarioName + "-" + entry.getKey().replaceAll("[^A-Za-z0-9._-]", "_") + ".hgrm");
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+                histogram.writePercentileDistribution(out, 1000.0);
+            }
+        }
+        errors.forEach((name, count) -> {
+            if (!latencies.containsKey(name)) {
+                table.append(String.format("%n%-22s %8d %7d", name, 0, count.sum()));
+            }
+        });
+        logger.info("Load run '{}' finished in {}s:{}", scenarioName, elapsed.getSeconds(), table);
+        logger.info("Percentile distributions written to {}", reportDir.toAbsolutePath());
+    }
+
+    /**
+     * The registration entry flow: open the login page, fill the signup form and submit it.
+     */
+    private static void registerScenario(ScenarioContext context, StepTimer steps, int user, int iteration) {
+        RegisterActions registerActions = new RegisterActions(context.getDriver());
+        String username = "load" + user + "x" + iteration + "x" + System.currentTimeMillis();
+        steps.step("navigateToLoginPage", registerActions::navigateToLoginPage);
+        steps.step("inputUsername", () -> registerActions.inputUsername(username));
+        steps.step("inputEmail", () -> registerActions.inputEmail(username + "@example.com"));
+        steps.step("clickSignupButton", registerActions::clickSignupButton);
+        context.getDriver().manage().deleteAllCookies();
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Load run interrupted", e);
+        }
+    }
+}
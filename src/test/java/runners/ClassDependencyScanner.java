@@ -0,0 +1,136 @@
+package runners;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the project classes a class depends on by reading the constant pools of compiled class files.
+ * Only classes present in the given output directories are followed, so library classes are ignored.
+ */
+class ClassDependencyScanner {
+    private static final Pattern DESCRIPTOR_CLASS = Pattern.compile("L([A-Za-z0-9_/$]+);");
+
+    private final List<Path> classDirectories;
+    private final Map<String, Set<String>> directDependencies = new HashMap<>();
+
+    ClassDependencyScanner(List<Path> classDirectories) {
+        this.classDirectories = classDirectories;
+    }
+
+    /**
+     * Computes every project class reachable from the given class, including itself.
+     * @param className the binary class name, e.g. "actions.RegisterActions"
+     * @return the transitive set of project class names
+     */
+    Set<String> transitiveDependencies(String className) {
+        Set<String> visited = new TreeSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        pending.push(className);
+        while (!pending.isEmpty()) {
+            String current = pending.pop();
+            if (findClassFile(current) == null || !visited.add(current)) {
+                continue;
+            }
+            directDependencies.computeIfAbsent(current, this::readReferencedClasses).forEach(pending::push);
+        }
+        return visited;
+    }
+
+    private Path findClassFile(String className) {
+        String relative = className.replace('.', '/') + ".class";
+        for (Path directory : classDirectories) {
+            Path candidate = directory.resolve(relative);
+            if (Files.isRegularFile(candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads class references from a class file's constant pool: Class entries plus
+     * type descriptors of fields and methods.
+     */
+    private Set<String> readReferencedClasses(String className) {
+        Set<String> referenced = new HashSet<>();
+        try (InputStream input = Files.newInputStream(findClassFile(className));
+             DataInputStream data = new DataInputStream(input)) {
+            data.readInt();            // magic
+            data.readUnsignedShort();  // minor version
+            data.readUnsignedShort();  // major version
+            int poolSize = data.readUnsignedShort();
+            String[] utf8 = new String[poolSize];
+            int[] classNameIndexes = new int[poolSize];
+            for (int index = 1; index < poolSize; index++) {
+                int tag = data.readUnsignedByte();
+                switch (tag) {
+                    case 1:  // Utf8
+                        utf8[index] = data.readUTF();
+                        break;
+                    case 7:  // Class
+                        classNameIndexes[index] = data.readUnsignedShort();
+                        break;
+                    case 8: case 16: case 19: case 20:  // String, MethodType, Module, Package
+                        data.readUnsignedShort();
+                        break;
+                    case 15:  // MethodHandle
+                        data.readUnsignedByte();
+                        data.readUnsignedShort();
+                        break;
+                    case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18:
+                        data.readInt();
+                        break;
+                    case 5: case 6:  // Long and Double take two pool slots
+                        data.readLong();
+                        index++;
+                        break;
+                    default:
+                        throw new IOException("Unknown constant pool tag " + tag + " in " + className);
+                }
+            }
+
+            for (int index = 1; index < poolSize; index++) {
+                if (classNameIndexes[index] != 0) {
+                    addClassName(referenced, utf8[classNameIndexes[index]]);
+                } else if (utf8[index] != null && utf8[index].indexOf(';') >= 0) {
+                    Matcher matcher = DESCRIPTOR_CLASS.matcher(utf8[index]);
+                    while (matcher.find()) {
+                        referenced.add(matcher.group(1).replace('/', '.'));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read class file for " + className, e);
+        }
+        referenced.remove(className);
+        return referenced;
+    }
+
+    private static void addClassName(Set<String> referenced, String internalName) {
+        if (internalName == null) {
+            return;
+        }
+        if (internalName.startsWith("[")) {
+            // Array class: keep the element type, if it is an object type
+            Matcher matcher = DESCRIPTOR_CLASS.matcher(internalName);
+            if (matcher.find()) {
+                referenced.add(matcher.group(1).replace('/', '.'));
+            }
+            return;
+        }
+        referenced.add(internalName.replace('/', '.'));
+    }
+}
@@ -0,0 +1,64 @@
+package runners;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestStepFinished;
+
+import java.io.PrintWriter;
+
+/**
+ * Cucumber plugin that streams step and scenario results to the client of the running {@link TestDaemon}.
+ * Outside a daemon run it prints nothing.
+ */
+public class DaemonReporter implements ConcurrentEventListener {
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onTestCaseStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, this::onTestStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+    }
+
+    private void onTestCaseStarted(TestCaseStarted event) {
+        TestCase testCase = event.getTestCase();
+        print("Scenario: " + testCase.getName() + " # " + ImpactMap.scenarioKey(testCase.getUri(), testCase.getLocation().getLine()));
+    }
+
+    private void onTestStepFinished(TestStepFinished event) {
+        Result result = event.getResult();
+        if (event.getTestStep() instanceof PickleStepTestStep) {
+            PickleStepTestStep step = (PickleStepTestStep) event.getTestStep();
+            print("  " + pad(result.getStatus().name()) + step.getStep().getKeyword() + step.getStep().getText()
+                    + " (" + result.getDuration().toMillis() + " ms)");
+        } else if (result.getError() != null) {
+            // Hooks are only worth a line when they fail
+            print("  " + pad(result.getStatus().name()) + "Hook " + event.getTestStep().getCodeLocation());
+        }
+        if (result.getError() != null) {
+            String message = String.valueOf(result.getError());
+            int newline = message.indexOf('\n');
+            print("    " + (newline >= 0 ? message.substring(0, newline) : message));
+        }
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        Result result = event.getResult();
+        print("  => " + result.getStatus() + " in " + result.getDuration().toMillis() + " ms");
+    }
+
+    private static String pad(String status) {
+        return String.format("%-9s", status);
+    }
+
+    private static void print(String line) {
+        PrintWriter out = TestDaemon.currentOutput();
+        if (out != null) {
+            out.println(line);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package runners;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Persistent mapping from scenario (feature path and line) to the project source files it exercised.
+ * Written by {@link ImpactRecorder} and read by {@link ImpactSelector}.
+ */
+final class ImpactMap {
+    static final String MAP_PROPERTY = "impact.map";
+    static final String DEFAULT_MAP_PATH = "target/impact/impact-map.json";
+
+    private static final Json json = new Json();
+
+    private ImpactMap() {}
+
+    /**
+     * @return The impact map location, overridable with -Dimpact.map so CI can cache it between builds.
+     */
+    static Path location() {
+        return Paths.get(System.getProperty(MAP_PROPERTY, DEFAULT_MAP_PATH));
+    }
+
+    /**
+     * Builds the key identifying a scenario across runs.
+     * @param featureUri The feature URI as reported by Cucumber.
+     * @param line The scenario (or example row) line.
+     * @return The key, e.g. "src/test/resources/features/register.feature:7".
+     */
+    static String scenarioKey(URI featureUri, int line) {
+        return relativePath(featureUri) + ":" + line;
+    }
+
+    /**
+     * Converts a feature URI into a path relative to the project directory, the same form git reports.
+     * @param uri A file: or classpath: URI.
+     * @return The project-relative path with forward slashes.
+     */
+    static String relativePath(URI uri) {
+        if ("classpath".equals(uri.getScheme())) {
+            String path = uri.getSchemeSpecificPart();
+            return "src/test/resources/" + (path.startsWith("/") ? path.substring(1) : path);
+        }
+        Path path = "file".equals(uri.getScheme()) ? Paths.get(uri) : Paths.get(uri.toString());
+        Path projectDir = Paths.get("").toAbsolutePath();
+        if (path.isAbsolute() && path.startsWith(projectDir)) {
+            path = projectDir.relativize(path);
+        }
+        return path.toString().replace('\\', '/');
+    }
+
+    /**
+     * Loads the map.
+     * @return Scenario keys mapped to their source paths, or null if no map has been recorded yet.
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, List<String>> load() throws IOException {
+        Path file = location();
+        if (!Files.exists(file)) {
+            return null;
+        }
+        String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        Map<String, Object> root = json.toType(content, Json.MAP_TYPE);
+        Map<String, List<String>> scenarios = new TreeMap<>();
+        Object entries = root.get("scenarios");
+        if (entries instanceof Map) {
+            ((Map<String, Object>) entries).forEach((key, sources) ->
+                    scenarios.put(key, sources instanceof List ? (List<String>) sources : Collections.emptyList()));
+        }
+        return scenarios;
+    }
+
+    /**
+     * Merges freshly recorded scenarios into the stored map and writes it back.
+     * Scenarios not run this time keep their previous entries.
+     * @param recorded Scenario keys mapped to the sources they exercised.
+     */
+    static void merge(Map<String, ? extends Collection<String>> recorded) throws IOException {
+        Map<String, List<String>> existing = load();
+        Map<String, Object> scenarios = new TreeMap<>();
+        if (existing != null) {
+            scenarios.putAll(existing);
+        }
+        scenarios.putAll(recorded);
+
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("recordedAt", System.currentTimeMillis());
+        root.put("scenarios", scenarios);
+
+        Path file = location().toAbsolutePath();
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), "impact-map", ".tmp");
+        Files.write(temp, json.toJson(root).getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
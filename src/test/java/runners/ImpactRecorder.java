@@ -0,0 +1,116 @@
+package runners;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStep;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Cucumber plugin recording which project sources each scenario exercised.
+ * For every finished scenario it collects the classes behind its steps and hooks, and at the end of
+ * the run expands them to everything they reference (actions, pages, locators, commons, utils)
+ * before merging the result into the impact map used by {@link ImpactSelector}.
+ */
+public class ImpactRecorder implements ConcurrentEventListener {
+    private static final Logger logger = LogManager.getLogger(ImpactRecorder.class);
+    private static final String[] SOURCE_ROOTS = {"src/main/java", "src/test/java"};
+
+    private final Map<String, Set<String>> glueByScenario = new ConcurrentHashMap<>();
+    private final Map<String, String> featureByScenario = new ConcurrentHashMap<>();
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> writeImpactMap());
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        TestCase testCase = event.getTestCase();
+        String key = ImpactMap.scenarioKey(testCase.getUri(), testCase.getLocation().getLine());
+        Set<String> glueClasses = new TreeSet<>();
+        // All steps count, including those skipped after a failure: they are part of the scenario
+        for (TestStep step : testCase.getTestSteps()) {
+            String className = glueClassName(step.getCodeLocation());
+            if (className != null) {
+                glueClasses.add(className);
+            }
+        }
+        glueByScenario.put(key, glueClasses);
+        featureByScenario.put(key, ImpactMap.relativePath(testCase.getUri()));
+    }
+
+    private void writeImpactMap() {
+        if (glueByScenario.isEmpty()) {
+            return;
+        }
+        ClassDependencyScanner scanner = new ClassDependencyScanner(
+                Arrays.asList(Paths.get("target/classes"), Paths.get("target/test-classes")));
+        Map<String, Set<String>> recorded = new TreeMap<>();
+        glueByScenario.forEach((key, glueClasses) -> {
+            Set<String> sources = new TreeSet<>();
+            sources.add(featureByScenario.get(key));
+            for (String glueClass : glueClasses) {
+                for (String className : scanner.transitiveDependencies(glueClass)) {
+                    String source = sourcePath(className);
+                    if (source != null) {
+                        sources.add(source);
+                    }
+                }
+            }
+            recorded.put(key, sources);
+        });
+
+        try {
+            ImpactMap.merge(recorded);
+            logger.info("Recorded impact of {} scenario(s) in {}", recorded.size(), ImpactMap.location());
+        } catch (IOException e) {
+            logger.warn("Failed to write impact map {}: {}", ImpactMap.location(), e.getMessage());
+        }
+    }
+
+    /**
+     * Extracts the declaring class from a Java code location such as
+     * "stepdefinitions.RegisterStepDefinitions.userIsOnRegisterPage()".
+     */
+    private static String glueClassName(String codeLocation) {
+        if (codeLocation == null) {
+            return null;  // undefined step
+        }
+        int paren = codeLocation.indexOf('(');
+        String method = paren >= 0 ? codeLocation.substring(0, paren) : codeLocation;
+        int lastDot = method.lastIndexOf('.');
+        return lastDot > 0 ? method.substring(0, lastDot) : null;
+    }
+
+    /**
+     * Maps a binary class name to its source file, folding nested classes into their outer file.
+     */
+    private static String sourcePath(String className) {
+        int nested = className.indexOf('$');
+        String outer = nested >= 0 ? className.substring(0, nested) : className;
+        String relative = outer.replace('.', '/') + ".java";
+        for (String root : SOURCE_ROOTS) {
+            Path candidate = Paths.get(root, relative);
+            if (Files.isRegularFile(candidate)) {
+                return root + "/" + relative;
+            }
+        }
+        return null;
+    }
+}
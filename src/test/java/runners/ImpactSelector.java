@@ -0,0 +1,167 @@
+package runners;
+
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Narrows the scenario set to those affected by the current change, using the impact map
+ * recorded on a previous full run and the files reported by git.
+ * Enabled with -Dimpact.select=true; any uncertainty (no map, git failure, non-code change)
+ * falls back to running every scenario.
+ */
+final class ImpactSelector {
+    private static final Logger logger = LogManager.getLogger(ImpactSelector.class);
+
+    static final String SELECT_PROPERTY = "impact.select";
+    static final String BASE_PROPERTY = "impact.base";
+    static final String SAFETY_TAGS_PROPERTY = "impact.safetyTags";
+
+    private static final String DEFAULT_BASE = "origin/main";
+    private static final String DEFAULT_SAFETY_TAGS = "@safety";
+    private static final String TEST_SOURCE_ROOT = "src/test/java/";
+    // The runner, its plugins and this selector shape every scenario without being reached from a step
+    private static final String RUNNER_SOURCE_ROOT = "src/test/java/runners/";
+    // Changes to these never affect test behaviour
+    private static final List<String> IGNORED_FILES = Arrays.asList("Jenkinsfile", ".gitignore");
+
+    private ImpactSelector() {}
+
+    /**
+     * Filters the Cucumber data provider rows down to the affected scenarios.
+     * @param scenarios The rows produced by AbstractTestNGCucumberTests, each starting with a PickleWrapper.
+     * @return The selected rows, or all rows if selection is disabled or not possible.
+     */
+    static Object[][] select(Object[][] scenarios) {
+        if (!Boolean.getBoolean(SELECT_PROPERTY)) {
+            return scenarios;
+        }
+
+        Map<String, List<String>> impactMap;
+        Set<String> changedFiles;
+        try {
+            impactMap = ImpactMap.load();
+            if (impactMap == null) {
+                logger.info("No impact map at {}; running all {} scenario(s)", ImpactMap.location(), scenarios.length);
+                return scenarios;
+            }
+            changedFiles = changedFiles(System.getProperty(BASE_PROPERTY, DEFAULT_BASE));
+        } catch (IOException e) {
+            logger.warn("Impact selection unavailable ({}); running all {} scenario(s)", e.getMessage(), scenarios.length);
+            return scenarios;
+        }
+
+        Set<String> mappedSources = new TreeSet<>();
+        impactMap.values().forEach(mappedSources::addAll);
+        Set<String> relevantChanges = new TreeSet<>();
+        for (String file : changedFiles) {
+            if (isIgnored(file)) {
+                continue;
+            }
+            if (requiresFullRun(file, mappedSources)) {
+                logger.info("Change to {} may affect any scenario; running all {} scenario(s)", file, scenarios.length);
+                return scenarios;
+            }
+            relevantChanges.add(file);
+        }
+
+        Set<String> safetyTags = new TreeSet<>(Arrays.asList(
+                System.getProperty(SAFETY_TAGS_PROPERTY, DEFAULT_SAFETY_TAGS).split("\\s*,\\s*")));
+        List<Object[]> selected = new ArrayList<>();
+        for (Object[] row : scenarios) {
+            Pickle pickle = ((PickleWrapper) row[0]).getPickle();
+            String key = ImpactMap.scenarioKey(pickle.getUri(), pickle.getLine());
+            List<String> sources = impactMap.get(key);
+            String reason = null;
+            if (sources == null) {
+                reason = "not yet recorded";
+            } else if (!Collections.disjoint(sources, relevantChanges)) {
+                reason = "affected by change";
+            } else if (!Collections.disjoint(pickle.getTags(), safetyTags)) {
+                reason = "safety set";
+            }
+            if (reason != null) {
+                logger.debug("Selected '{}' ({}): {}", pickle.getName(), key, reason);
+                selected.add(row);
+            }
+        }
+        logger.info("Impact selection: {} of {} scenario(s) affected by {} changed file(s)",
+                selected.size(), scenarios.length, relevantChanges.size());
+        return selected.toArray(new Object[0][]);
+    }
+
+    private static boolean isIgnored(String file) {
+        return file.endsWith(".md") || IGNORED_FILES.contains(file);
+    }
+
+    /**
+     * A change needs a full run when it is not plain Java or feature content (build files, configuration,
+     * test data), when it touches the runners, or when it is test code the map does not know about,
+     * such as new glue or hooks.
+     */
+    private static boolean requiresFullRun(String file, Set<String> mappedSources) {
+        if (file.endsWith(".feature")) {
+            return false;
+        }
+        if (!file.endsWith(".java") || file.startsWith(RUNNER_SOURCE_ROOT)) {
+            return true;
+        }
+        return file.startsWith(TEST_SOURCE_ROOT) && !mappedSources.contains(file);
+    }
+
+    /**
+     * Collects files changed since the merge base with the given ref, plus uncommitted and untracked files.
+     */
+    private static Set<String> changedFiles(String base) throws IOException {
+        Set<String> files = new TreeSet<>();
+        files.addAll(git("diff", "--name-only", base + "...HEAD"));
+        files.addAll(git("diff", "--name-only", "HEAD"));
+        files.addAll(git("ls-files", "--others", "--exclude-standard"));
+        return files;
+    }
+
+    private static List<String> git(String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(Arrays.asList(args));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().isEmpty()) {
+                    lines.add(line.trim());
+                }
+            }
+        }
+        try {
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IOException("git " + String.join(" ", args) + " timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running git", e);
+        }
+        if (process.exitValue() != 0) {
+            throw new IOException("git " + String.join(" ", args) + " failed: " + String.join(" ", lines));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,133 @@
+package runners;
+
+import commons.DriverManager;
+import data.TestDataProvider;
+import io.cucumber.core.cli.Main;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Long-lived local test runner that keeps the JVM, loaded glue classes, configuration, test data
+ * and parked browser sessions warm between runs.
+ * Listens on a loopback socket for run requests from {@link TestDaemonClient}, runs them one at a time
+ * through the Cucumber CLI and streams the results back as they happen.
+ *
+ * Protocol: the client sends Cucumber CLI arguments one per line followed by an empty line; the daemon
+ * replies with result lines and finishes with "EXIT <status>". A lone "--stop" argument shuts it down.
+ */
+public class TestDaemon {
+    private static final Logger logger = LogManager.getLogger(TestDaemon.class);
+
+    static final String PORT_PROPERTY = "daemon.port";
+    static final int DEFAULT_PORT = 7719;
+    static final String EXIT_PREFIX = "EXIT ";
+    static final String STOP_COMMAND = "--stop";
+
+    private static final String GLUE = "stepdefinitions";
+    private static final List<String> DEFAULT_RUN = Arrays.asList(
+            "src/test/resources/features", "--tags", "@smoke or @regression");
+
+    // Output of the run in progress, read by DaemonReporter; runs never overlap
+    private static volatile PrintWriter currentOutput;
+
+    public static void main(String[] args) throws IOException {
+        int port = Integer.getInteger(PORT_PROPERTY, DEFAULT_PORT);
+        warmUp();
+        try (ServerSocket server = new ServerSocket(port, 0, InetAddress.getLoopbackAddress())) {
+            logger.info("Test daemon listening on {}:{}", server.getInetAddress().getHostAddress(), port);
+            boolean running = true;
+            while (running) {
+                try (Socket socket = server.accept()) {
+                    running = handle(socket);
+                } catch (IOException e) {
+                    logger.warn("Test daemon request failed: {}", e.getMessage());
+                }
+            }
+        } finally {
+            DriverManager.shutdown();
+        }
+        logger.info("Test daemon stopped");
+    }
+
+    /**
+     * The output stream of the run in progress, or null outside a daemon run.
+     */
+    static PrintWriter currentOutput() {
+        return currentOutput;
+    }
+
+    /**
+     * Loads configuration and test data, enables session reuse, and does a dry run so glue
+     * scanning and feature parsing classes are loaded before the first real request.
+     */
+    private static void warmUp() {
+        long start = System.currentTimeMillis();
+        DriverManager.requireWarmSessions(1);
+        try {
+            TestDataProvider.getUsername();
+        } catch (RuntimeException e) {
+            logger.debug("Test data not preloaded: {}", e.getMessage());
+        }
+        List<String> dryRun = new ArrayList<>(DEFAULT_RUN);
+        dryRun.addAll(Arrays.asList("--dry-run", "--glue", GLUE, "--plugin", DaemonReporter.class.getName()));
+        Main.run(dryRun.toArray(new String[0]), Thread.currentThread().getContextClassLoader());
+        logger.info("Test daemon warmed up in {} ms (keeping up to {} warm session(s))",
+                System.currentTimeMillis() - start, DriverManager.getWarmSessions());
+    }
+
+    /**
+     * Serves one client connection.
+     * @return false if the client asked the daemon to stop.
+     */
+    private static boolean handle(Socket socket) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+        List<String> args = new ArrayList<>();
+        String line;
+        while ((line = in.readLine()) != null && !line.isEmpty()) {
+            args.add(line);
+        }
+        if (args.equals(Arrays.asList(STOP_COMMAND))) {
+            out.println("Test daemon stopping");
+            out.println(EXIT_PREFIX + 0);
+            return false;
+        }
+
+        List<String> cucumberArgs = args.isEmpty() ? new ArrayList<>(DEFAULT_RUN) : new ArrayList<>(args);
+        if (!cucumberArgs.contains("--glue") && !cucumberArgs.contains("-g")) {
+            cucumberArgs.addAll(Arrays.asList("--glue", GLUE));
+        }
+        cucumberArgs.addAll(Arrays.asList("--plugin", DaemonReporter.class.getName()));
+
+        logger.info("Running {}", cucumberArgs);
+        long start = System.currentTimeMillis();
+        byte status;
+        currentOutput = out;
+        try {
+            status = Main.run(cucumberArgs.toArray(new String[0]), Thread.currentThread().getContextClassLoader());
+        } catch (RuntimeException e) {
+            logger.error("Run failed", e);
+            out.println("Run failed: " + e);
+            status = 2;
+        } finally {
+            currentOutput = null;
+        }
+        out.println("Finished in " + (System.currentTimeMillis() - start) + " ms");
+        out.println(EXIT_PREFIX + status);
+        return true;
+    }
+}
@@ -0,0 +1,49 @@
+package runners;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Thin client for {@link TestDaemon}. Uses only the JDK so it can be launched straight from source:
+ * <pre>java src/test/java/runners/TestDaemonClient.java --tags @smoke</pre>
+ * Arguments are passed to the daemon as Cucumber CLI options; "--stop" shuts the daemon down.
+ * The process exits with the run's status.
+ */
+public class TestDaemonClient {
+    // Duplicated from TestDaemon so this file stays runnable on its own
+    private static final int DEFAULT_PORT = 7719;
+    private static final String EXIT_PREFIX = "EXIT ";
+
+    public static void main(String[] args) throws IOException {
+        int port = Integer.getInteger("daemon.port", DEFAULT_PORT);
+        int status = 2;
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+            for (String arg : args) {
+                out.println(arg);
+            }
+            out.println();
+
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith(EXIT_PREFIX)) {
+                    status = Integer.parseInt(line.substring(EXIT_PREFIX.length()).trim());
+                    break;
+                }
+                System.out.println(line);
+            }
+        } catch (ConnectException e) {
+            System.err.println("No test daemon on port " + port + "; start it with: mvn test-compile exec:java "
+                    + "-Dexec.mainClass=runners.TestDaemon -Dexec.classpathScope=test");
+        }
+        System.exit(status);
+    }
+}
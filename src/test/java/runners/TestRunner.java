@@ -2,6 +2,7 @@ package runners;
 
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import org.testng.annotations.DataProvider;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -11,7 +12,8 @@ import org.apache.logging.log4j.Logger;
     plugin = {
         "pretty",
         "html:target/cucumber-reports/cucumber-pretty.html",
-        "json:target/cucumber-reports/CucumberTestReport.json"
+        "json:target/cucumber-reports/CucumberTestReport.json",
+        "runners.ImpactRecorder"
     },
     monochrome = true,
     tags = "@smoke or @regression"
@@ -23,4 +25,14 @@ public class TestRunner extends AbstractTestNGCucumberTests {
         logger.info("TestRunner initialized with Cucumber options: features={}, glue={}, tags={}",
                 "src/test/resources/features", "stepdefinitions", "@smoke or @regression");
     }
+
+    /**
+     * Runs only the scenarios affected by the current change when -Dimpact.select=true.
+     * @return The scenarios to run.
+     */
+    @Override
+    @DataProvider
+    public Object[][] scenarios() {
+        return ImpactSelector.select(super.scenarios());
+    }
 }
\ No newline at end of file
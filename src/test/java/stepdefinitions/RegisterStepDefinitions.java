@@ -6,21 +6,33 @@ import io.cucumber.java.en.And;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.After;
 import io.cucumber.java.Before;
+import actions.AccountApiActions;
 import actions.RegisterActions;
 import data.TestDataProvider;
+import org.testng.Assert;
+import commons.BrowserStateCache;
+import commons.ConfigManager;
 import commons.DriverManager;
 
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
 /**
  * Step definitions for user registration functionality.
  * Handles the complete registration flow.
  */
 public class RegisterStepDefinitions {
     private RegisterActions registerActions;
+    private AccountApiActions accountApiActions;
     private String username;
     private String email;
+    // Password of the account created by the last "an account exists" step, for later logins
+    private String password;
     
     public RegisterStepDefinitions() {
         this.registerActions = new RegisterActions();
+        this.accountApiActions = new AccountApiActions();
     }
 
     @Before
@@ -34,6 +46,61 @@ public class RegisterStepDefinitions {
         registerActions.verifyTheLoginPage();
     }
 
+    @Then("the login page is shown at each of:")
+    public void loginPageIsShownAtEachOf(List<String> paths) {
+        // Independent read-only checks share one session, each in its own tab
+        String baseUrl = ConfigManager.getInstance().getBaseUrl();
+        List<String> urls = paths.stream()
+                .map(path -> path.startsWith("/") ? baseUrl + path : path)
+                .collect(Collectors.toList());
+        registerActions.verifyLoginPages(urls);
+    }
+
+    @Given("an account exists for row {int}")
+    public void accountExistsForRow(int row) {
+        // Created through the API; removed again in tearDown
+        this.username = TestDataProvider.getUsername(row);
+        this.email = TestDataProvider.getEmail(row);
+        this.password = UUID.randomUUID().toString();
+
+        accountApiActions.createAccount(username, email, password);
+    }
+
+    @And("the API cookies are synced to the browser")
+    public void apiCookiesAreSyncedToTheBrowser() {
+        // Cookies can only be set for the domain the browser is on
+        registerActions.navigateToLoginPage();
+        accountApiActions.syncCookiesToBrowser(DriverManager.getDriver());
+    }
+
+    @When("user logs in with the account")
+    public void userLogsInWithTheAccount() {
+        registerActions.navigateToLoginPage();
+        registerActions.loginWith(email, password);
+    }
+
+    @Given("user is logged in with the account")
+    public void userIsLoggedInWithTheAccount() {
+        // Restores the cached browser state when it still authenticates, otherwise logs in through the UI
+        registerActions.loginAs(email, password);
+    }
+
+    @When("the browser session is restarted")
+    public void browserSessionIsRestarted() {
+        DriverManager.quitDriver();
+        this.registerActions = new RegisterActions();
+    }
+
+    @Then("the user is shown as logged in")
+    public void userIsShownAsLoggedIn() {
+        registerActions.verifyLoggedInAs(username);
+    }
+
+    @Then("the account can log in with its password")
+    public void accountCanLogIn() {
+        Assert.assertTrue(accountApiActions.verifyLogin(email, password), "Login rejected for " + email);
+    }
+
     @When("user fills username and email from row {int}")
     public void fillUsernameAndEmailFromRow(int row) {
         // Get test data from the specified row
@@ -51,13 +118,19 @@ public class RegisterStepDefinitions {
 
     @After
     public void tearDown() {
+        if (password != null) {
+            // The account is deleted below, so its cached login is of no further use
+            BrowserStateCache.getInstance().invalidate(email);
+        }
+        accountApiActions.deleteCreatedAccounts();
         shutdown();
     }
 
     /**
-     * Shutdown method for cleanup. Ensures all drivers are properly closed.
+     * Cleanup after each scenario. Quits this scenario's driver while keeping
+     * the shared HTTP connection pool open for the next session.
      */
     public void shutdown() {
-        DriverManager.shutdown();
+        DriverManager.quitDriver();
     }
 } 
\ No newline at end of file
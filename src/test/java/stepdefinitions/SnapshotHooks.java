@@ -0,0 +1,67 @@
+package stepdefinitions;
+
+import commons.DriverManager;
+import io.cucumber.java.AfterStep;
+import io.cucumber.java.Scenario;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Saves the DOM of the current page after every passing step when run with -Dsnapshots.capture=true.
+ * The snapshots let validation.LocatorValidator check every locator offline, without a browser.
+ */
+public class SnapshotHooks {
+    private static final Logger logger = LogManager.getLogger(SnapshotHooks.class);
+
+    static final String CAPTURE_PROPERTY = "snapshots.capture";
+    static final String DIRECTORY_PROPERTY = "snapshots.dir";
+    static final String DEFAULT_DIRECTORY = "target/dom-snapshots";
+
+    // Serializes a copy of the page as XML so the JDK parser can read it. Scripts and styles are dropped,
+    // as are attributes whose names are not valid XML (e.g. framework bindings such as '@click').
+    private static final String SERIALIZE_SCRIPT =
+            "var root = document.documentElement.cloneNode(true);" +
+            "Array.prototype.forEach.call(root.querySelectorAll('script,style,noscript,template'), function (e) {" +
+            "  e.parentNode.removeChild(e); });" +
+            "var all = [root].concat(Array.prototype.slice.call(root.querySelectorAll('*')));" +
+            "all.forEach(function (el) {" +
+            "  Array.prototype.slice.call(el.attributes).forEach(function (attr) {" +
+            "    if (!/^[A-Za-z_][-A-Za-z0-9_.:]*$/.test(attr.name)) { el.removeAttribute(attr.name); } });" +
+            "});" +
+            "return { url: window.location.href, dom: new XMLSerializer().serializeToString(root) };";
+
+    @AfterStep
+    public void captureSnapshot(Scenario scenario) {
+        if (!Boolean.getBoolean(CAPTURE_PROPERTY) || scenario.isFailed()) {
+            return;
+        }
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> page = (Map<String, Object>) DriverManager.getDriver().executeScript(SERIALIZE_SCRIPT);
+            String url = String.valueOf(page.get("url"));
+            String dom = String.valueOf(page.get("dom"));
+            // One file per distinct page state; identical states across steps and runs share a file
+            String fileName = url.replaceFirst("^[a-z]+://", "").replaceAll("[^A-Za-z0-9._-]", "_")
+                    + "-" + Integer.toHexString(dom.hashCode()) + ".xml";
+            Path file = Paths.get(System.getProperty(DIRECTORY_PROPERTY, DEFAULT_DIRECTORY), fileName);
+            if (Files.exists(file)) {
+                return;
+            }
+            Files.createDirectories(file.getParent());
+            // The URL goes in a leading comment, which keeps the file well-formed XML
+            String content = "<!-- " + url.replace("--", "%2D%2D") + " -->\n" + dom;
+            Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+            logger.debug("Saved DOM snapshot of {} to {}", url, file);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to capture DOM snapshot in '{}': {}", scenario.getName(), e.getMessage());
+        }
+    }
+}
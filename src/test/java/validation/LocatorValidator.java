@@ -0,0 +1,248 @@
+package validation;
+
+import org.openqa.selenium.By;
+import org.w3c.dom.Comment;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import utils.LocatorSpec;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Checks every {@link By} locator declared in the page object classes against DOM snapshots saved by
+ * stepdefinitions.SnapshotHooks, without a browser or network.
+ * A locator is reported as MISSING if it matches nothing in any snapshot, AMBIGUOUS if it matches more
+ * than one element on a page, INVALID if it cannot be compiled, and SLOW if it uses patterns that make
+ * the browser scan the whole document. The process exits with 1 when any locator is missing, ambiguous
+ * or invalid.
+ *
+ * Settings (system properties):
+ * <ul>
+ *   <li>snapshots.dir - the snapshot directory, default "target/dom-snapshots"</li>
+ *   <li>locators.package - the package scanned for locator fields, default "page"</li>
+ * </ul>
+ */
+public class LocatorValidator {
+    private static final Logger logger = LogManager.getLogger(LocatorValidator.class);
+    private static final Path CLASSES_DIR = Paths.get("target/classes");
+    private static final int MAX_DESCENDANT_STEPS = 2;
+
+    /**
+     * Outcome for one locator.
+     */
+    enum Status { OK, SLOW, UNSUPPORTED, AMBIGUOUS, MISSING, INVALID }
+
+    public static void main(String[] args) throws Exception {
+        long start = System.currentTimeMillis();
+        Path snapshotDir = Paths.get(System.getProperty("snapshots.dir", "target/dom-snapshots"));
+        Map<String, Document> snapshots = loadSnapshots(snapshotDir);
+        if (snapshots.isEmpty()) {
+            logger.error("No DOM snapshots in {}; capture them with: mvn test -Dsnapshots.capture=true", snapshotDir);
+            System.exit(2);
+        }
+        Map<String, By> locators = findLocators(System.getProperty("locators.package", "page"));
+
+        Map<Status, Integer> totals = new LinkedHashMap<>();
+        XPath xpath = XPathFactory.newInstance().newXPath();
+        for (Map.Entry<String, By> locator : locators.entrySet()) {
+            List<String> findings = new ArrayList<>();
+            Status status = validate(locator.getValue(), snapshots, xpath, findings);
+            totals.merge(status, 1, Integer::sum);
+            String line = String.format("%-11s %s = %s", status, locator.getKey(), locator.getValue());
+            if (status == Status.OK) {
+                logger.info(line);
+            } else {
+                logger.warn(line);
+            }
+            findings.forEach(finding -> logger.info("              {}", finding));
+        }
+
+        logger.info("Validated {} locator(s) against {} snapshot(s) in {} ms: {}", locators.size(), snapshots.size(),
+                System.currentTimeMillis() - start, totals);
+        boolean failed = totals.containsKey(Status.MISSING) || totals.containsKey(Status.AMBIGUOUS)
+                || totals.containsKey(Status.INVALID);
+        System.exit(failed ? 1 : 0);
+    }
+
+    /**
+     * Evaluates one locator against every snapshot.
+     * @param locator The locator.
+     * @param snapshots Parsed snapshots by page URL and file.
+     * @param xpath The evaluator.
+     * @param findings Receives details for the report.
+     * @return The most severe status found.
+     */
+    static Status validate(By locator, Map<String, Document> snapshots, XPath xpath, List<String> findings) {
+        LocatorSpec spec = LocatorSpec.from(locator);
+        String expression = spec == null ? null : spec.toXPath();
+        if (expression == null) {
+            findings.add("cannot be translated to XPath for offline evaluation");
+            return Status.UNSUPPORTED;
+        }
+
+        XPathExpression compiled;
+        try {
+            compiled = xpath.compile(expression);
+        } catch (XPathExpressionException e) {
+            findings.add("invalid XPath: " + rootMessage(e));
+            return Status.INVALID;
+        }
+
+        int matchedSnapshots = 0;
+        List<String> ambiguous = new ArrayList<>();
+        for (Map.Entry<String, Document> snapshot : snapshots.entrySet()) {
+            int count;
+            try {
+                count = ((NodeList) compiled.evaluate(snapshot.getValue(), XPathConstants.NODESET)).getLength();
+            } catch (XPathExpressionException e) {
+                findings.add("invalid XPath: " + rootMessage(e));
+                return Status.INVALID;
+            }
+            if (count > 0) {
+                matchedSnapshots++;
+            }
+            if (count > 1) {
+                ambiguous.add(snapshot.getKey() + " (" + count + " matches)");
+            }
+        }
+
+        List<String> slowPatterns = slowPatterns(expression);
+        slowPatterns.forEach(pattern -> findings.add("slow: " + pattern));
+        if (matchedSnapshots == 0) {
+            findings.add("matches nothing in any snapshot");
+            return Status.MISSING;
+        }
+        if (!ambiguous.isEmpty()) {
+            ambiguous.forEach(page -> findings.add("ambiguous on " + page));
+            return Status.AMBIGUOUS;
+        }
+        return slowPatterns.isEmpty() ? Status.OK : Status.SLOW;
+    }
+
+    /**
+     * Flags XPath patterns that force a scan of the whole document or are tied to text layout.
+     * @param expression The XPath.
+     * @return Descriptions of the patterns found.
+     */
+    static List<String> slowPatterns(String expression) {
+        List<String> patterns = new ArrayList<>();
+        // Only the path syntax counts, not e.g. the '//' of a URL in an @href predicate
+        String path = expression.replaceAll("'[^']*'|\"[^\"]*\"", "''");
+        if (path.contains("//*")) {
+            patterns.add("'//*' visits every element");
+        }
+        if (path.replaceAll("\\s", "").contains("contains(text()")) {
+            patterns.add("contains(text(), ...) scans text nodes and only checks the first one");
+        }
+        int descendantSteps = path.split("//", -1).length - 1;
+        if (descendantSteps > MAX_DESCENDANT_STEPS) {
+            patterns.add(descendantSteps + " descendant ('//') steps");
+        }
+        return patterns;
+    }
+
+    /**
+     * Parses every snapshot with a non-namespace-aware parser, so locators match plain element names.
+     * @param directory The snapshot directory.
+     * @return Documents keyed by "url [file]".
+     */
+    static Map<String, Document> loadSnapshots(Path directory) throws Exception {
+        Map<String, Document> snapshots = new LinkedHashMap<>();
+        if (!Files.isDirectory(directory)) {
+            return snapshots;
+        }
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(false);
+        factory.setExpandEntityReferences(false);
+        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+        DocumentBuilder builder = factory.newDocumentBuilder();
+        builder.setErrorHandler(null);
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(file -> file.toString().endsWith(".xml")).sorted().collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            try {
+                Document document = builder.parse(file.toFile());
+                snapshots.put(pageUrl(document) + " [" + file.getFileName() + "]", document);
+            } catch (Exception e) {
+                logger.warn("Skipping unreadable snapshot {}: {}", file.getFileName(), e.getMessage());
+            }
+        }
+        return snapshots;
+    }
+
+    private static String pageUrl(Document document) {
+        Node first = document.getFirstChild();
+        return first instanceof Comment ? first.getNodeValue().trim() : "unknown page";
+    }
+
+    /**
+     * Finds the static By fields of every class under the given package in the compiled main classes.
+     * @param packageName The package to scan, e.g. "page".
+     * @return Locators keyed by "SimpleClassName.FIELD".
+     */
+    static Map<String, By> findLocators(String packageName) throws IOException, ClassNotFoundException {
+        Path root = CLASSES_DIR.resolve(packageName.replace('.', '/'));
+        Map<String, By> locators = new LinkedHashMap<>();
+        if (!Files.isDirectory(root)) {
+            return locators;
+        }
+        List<String> classNames;
+        try (Stream<Path> stream = Files.walk(root)) {
+            classNames = stream
+                    .map(file -> CLASSES_DIR.relativize(file).toString().replace('\\', '/'))
+                    .filter(name -> name.endsWith(".class"))
+                    .map(name -> name.substring(0, name.length() - ".class".length()).replace('/', '.'))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        for (String className : classNames) {
+            Class<?> type = Class.forName(className);
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) && By.class.isAssignableFrom(field.getType())) {
+                    try {
+                        field.setAccessible(true);
+                        locators.put(type.getSimpleName() + "." + field.getName(), (By) field.get(null));
+                    } catch (IllegalAccessException | RuntimeException e) {
+                        logger.warn("Cannot read locator {}.{}: {}", className, field.getName(), e.getMessage());
+                    }
+                }
+            }
+        }
+        return locators;
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+}
@@ -7,4 +7,27 @@ Feature: Register Functionality
   Scenario: User Registration Flow
     Given user is on the login page
     When user fills username and email from row 1
-    And user clicks signup button
\ No newline at end of file
+    And user clicks signup button
+
+  @regression @multitab
+  Scenario: Login page is served for each login entry point
+    Then the login page is shown at each of:
+      | /login                |
+      | /login?next=/products |
+      | /login#signup         |
+
+  @regression @api
+  Scenario: Account created through the API can log in through the UI
+    Given an account exists for row 1
+    And the account can log in with its password
+    And the API cookies are synced to the browser
+    When user logs in with the account
+    Then the user is shown as logged in
+
+  @regression @api
+  Scenario: Login is restored from the cached browser state
+    Given an account exists for row 1
+    And user is logged in with the account
+    When the browser session is restarted
+    And user is logged in with the account
+    Then the user is shown as logged in